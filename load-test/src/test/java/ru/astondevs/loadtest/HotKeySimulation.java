@@ -0,0 +1,34 @@
+package ru.astondevs.loadtest;
+
+import io.gatling.javaapi.core.ScenarioBuilder;
+import io.gatling.javaapi.core.Simulation;
+
+import static io.gatling.javaapi.core.CoreDsl.percent;
+import static io.gatling.javaapi.core.CoreDsl.randomSwitch;
+import static io.gatling.javaapi.core.CoreDsl.scenario;
+
+/**
+ * Reads and updates concentrated on {@code hot-key.users} users, to expose
+ * row-lock contention on a few hot accounts.
+ */
+public class HotKeySimulation extends Simulation {
+
+    private static final String NAME = "hot-key";
+
+    private final ScenarioBuilder scenario = scenario(NAME)
+            .feed(UserApi.users(LoadTestSettings.integer("hot-key.users")))
+            .exec(randomSwitch().on(
+                    percent(50.0).then(UserApi.UPDATE_USER),
+                    percent(50.0).then(UserApi.GET_USER)));
+
+    {
+        setUp(scenario.injectOpen(LoadTestSettings.arrivals(NAME)))
+                .protocols(UserApi.PROTOCOL)
+                .assertions(LoadTestSettings.thresholds(NAME));
+    }
+
+    @Override
+    public void before() {
+        UserDataSeeder.seed();
+    }
+}
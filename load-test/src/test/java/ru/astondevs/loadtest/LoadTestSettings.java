@@ -0,0 +1,80 @@
+package ru.astondevs.loadtest;
+
+import io.gatling.javaapi.core.Assertion;
+import io.gatling.javaapi.core.OpenInjectionStep;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Properties;
+
+import static io.gatling.javaapi.core.CoreDsl.constantUsersPerSec;
+import static io.gatling.javaapi.core.CoreDsl.global;
+import static io.gatling.javaapi.core.CoreDsl.rampUsersPerSec;
+
+/**
+ * Settings from {@code load-test.properties}, overridable with system properties.
+ */
+final class LoadTestSettings {
+
+    private static final Properties PROPERTIES = load();
+
+    private LoadTestSettings() {
+    }
+
+    static String string(String key) {
+        String value = System.getProperty(key, PROPERTIES.getProperty(key));
+        if (value == null) {
+            throw new IllegalStateException("Missing load test setting " + key);
+        }
+        return value;
+    }
+
+    static int integer(String key) {
+        return Integer.parseInt(string(key));
+    }
+
+    static double decimal(String key) {
+        return Double.parseDouble(string(key));
+    }
+
+    /**
+     * Open-model arrivals for a scenario: ramp up to {@code <scenario>.rate}
+     * new users per second, then hold that rate.
+     */
+    static OpenInjectionStep[] arrivals(String scenario) {
+        double rate = decimal(scenario + ".rate");
+        return new OpenInjectionStep[] {
+                rampUsersPerSec(1).to(rate).during(Duration.ofSeconds(integer("ramp-up.seconds"))),
+                constantUsersPerSec(rate).during(Duration.ofSeconds(integer("duration.seconds")))
+        };
+    }
+
+    /**
+     * Build-failing thresholds for a scenario, read from
+     * {@code <scenario>.threshold.*}.
+     */
+    static List<Assertion> thresholds(String scenario) {
+        String prefix = scenario + ".threshold.";
+        return List.of(
+                global().responseTime().percentile(95.0).lt(integer(prefix + "p95-ms")),
+                global().responseTime().percentile(99.0).lt(integer(prefix + "p99-ms")),
+                global().responseTime().max().lt(integer(prefix + "max-ms")),
+                global().failedRequests().percent().lte(decimal(prefix + "error-percent")),
+                global().requestsPerSec().gte(decimal(prefix + "min-rps")));
+    }
+
+    private static Properties load() {
+        Properties properties = new Properties();
+        try (InputStream input = LoadTestSettings.class.getResourceAsStream("/load-test.properties")) {
+            if (input != null) {
+                properties.load(input);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return properties;
+    }
+}
@@ -0,0 +1,37 @@
+package ru.astondevs.loadtest;
+
+import io.gatling.javaapi.core.ScenarioBuilder;
+import io.gatling.javaapi.core.Simulation;
+
+import static io.gatling.javaapi.core.CoreDsl.percent;
+import static io.gatling.javaapi.core.CoreDsl.randomSwitch;
+import static io.gatling.javaapi.core.CoreDsl.scenario;
+
+/**
+ * Mostly single-user lookups with some stats, list reads and writes,
+ * the profile of normal API traffic.
+ */
+public class ReadHeavySimulation extends Simulation {
+
+    private static final String NAME = "read-heavy";
+
+    private final ScenarioBuilder scenario = scenario(NAME)
+            .feed(UserApi.users(LoadTestSettings.integer("seed.users")))
+            .exec(randomSwitch().on(
+                    percent(80.0).then(UserApi.GET_USER),
+                    percent(8.0).then(UserApi.GET_STATS),
+                    percent(1.0).then(UserApi.GET_ALL_USERS),
+                    percent(6.0).then(UserApi.UPDATE_USER),
+                    percent(5.0).then(UserApi.CREATE_AND_DELETE_USER)));
+
+    {
+        setUp(scenario.injectOpen(LoadTestSettings.arrivals(NAME)))
+                .protocols(UserApi.PROTOCOL)
+                .assertions(LoadTestSettings.thresholds(NAME));
+    }
+
+    @Override
+    public void before() {
+        UserDataSeeder.seed();
+    }
+}
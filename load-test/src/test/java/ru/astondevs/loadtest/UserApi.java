@@ -0,0 +1,78 @@
+package ru.astondevs.loadtest;
+
+import io.gatling.javaapi.core.ChainBuilder;
+import io.gatling.javaapi.http.HttpProtocolBuilder;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import static io.gatling.javaapi.core.CoreDsl.StringBody;
+import static io.gatling.javaapi.core.CoreDsl.exec;
+import static io.gatling.javaapi.core.CoreDsl.jsonPath;
+import static io.gatling.javaapi.http.HttpDsl.http;
+import static io.gatling.javaapi.http.HttpDsl.status;
+
+/**
+ * Requests against every UserController endpoint plus the feeders that
+ * drive them. Reads and updates target seeded users; deletes only remove
+ * users created by the same virtual user, so seeded ids stay valid for the
+ * whole run.
+ */
+final class UserApi {
+
+    private static final AtomicLong CREATED_USERS = new AtomicLong();
+    private static final String RUN_ID = Long.toString(System.currentTimeMillis(), 36);
+
+    static final HttpProtocolBuilder PROTOCOL = http
+            .baseUrl(LoadTestSettings.string("base-url"))
+            .acceptHeader("application/json")
+            .contentTypeHeader("application/json");
+
+    static final ChainBuilder GET_USER = exec(http("GET /users/{id}")
+            .get("/#{userId}")
+            .check(status().is(200)));
+
+    static final ChainBuilder GET_ALL_USERS = exec(http("GET /users")
+            .get("")
+            .check(status().is(200)));
+
+    static final ChainBuilder GET_STATS = exec(http("GET /users/stats")
+            .get("/stats")
+            .check(status().is(200)));
+
+    static final ChainBuilder CREATE_USER = exec(http("POST /users")
+            .post("")
+            .body(StringBody("{\"name\":\"#{name}\",\"email\":\"#{email}\",\"age\":#{age}}"))
+            .check(status().is(201))
+            .check(jsonPath("$.userId").saveAs("createdUserId")));
+
+    static final ChainBuilder UPDATE_USER = exec(http("PUT /users/{id}")
+            .put("/#{userId}")
+            .body(StringBody("{\"name\":\"#{name}\",\"age\":#{age}}"))
+            .check(status().is(200)));
+
+    static final ChainBuilder CREATE_AND_DELETE_USER = CREATE_USER.exec(http("DELETE /users/{id}")
+            .delete("/#{createdUserId}")
+            .check(status().is(204)));
+
+    private UserApi() {
+    }
+
+    /**
+     * Uniformly random ids of seeded users plus a fresh name, email and age.
+     */
+    static Iterator<Map<String, Object>> users(long idCount) {
+        return Stream.generate(() -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            long created = CREATED_USERS.incrementAndGet();
+            return Map.<String, Object>of(
+                    "userId", random.nextLong(1, idCount + 1),
+                    "name", "load " + created,
+                    "email", "load" + created + "-" + RUN_ID + "@example.com",
+                    "age", random.nextInt(18, 90));
+        }).iterator();
+    }
+}
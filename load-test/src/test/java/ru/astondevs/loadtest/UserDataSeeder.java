@@ -0,0 +1,62 @@
+package ru.astondevs.loadtest;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Resets the service database to a known state before a simulation:
+ * {@code seed.users} users with ids 1..N, so every run starts from the
+ * same data regardless of schema layout.
+ */
+final class UserDataSeeder {
+
+    private static final String SEED_USERS_SQL = """
+            INSERT INTO users (name, email, age, created_at, updated_at)
+            SELECT 'user ' || g,
+                   'user' || g || '@domain' || (g % 50) || '.com',
+                   g % 90,
+                   now() - (g % 365) * interval '1 day',
+                   now()
+            FROM generate_series(1, ?) AS g""";
+
+    // user_emails is a view in the standard layout and a trigger-maintained
+    // table in the partitioned one; TRUNCATE does not fire those triggers.
+    private static final String USER_EMAILS_IS_TABLE_SQL = """
+            SELECT EXISTS (
+                SELECT 1 FROM pg_class
+                WHERE relname = 'user_emails' AND relkind IN ('r', 'p'))""";
+
+    private UserDataSeeder() {
+    }
+
+    static void seed() {
+        int users = LoadTestSettings.integer("seed.users");
+        try (Connection connection = DriverManager.getConnection(
+                LoadTestSettings.string("db.url"),
+                LoadTestSettings.string("db.username"),
+                LoadTestSettings.string("db.password"))) {
+
+            try (Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery(USER_EMAILS_IS_TABLE_SQL)) {
+                resultSet.next();
+                String tables = resultSet.getBoolean(1) ? "users, user_emails" : "users";
+                statement.execute("TRUNCATE " + tables + ", idempotency_keys RESTART IDENTITY");
+            }
+
+            try (PreparedStatement statement = connection.prepareStatement(SEED_USERS_SQL)) {
+                statement.setInt(1, users);
+                statement.executeUpdate();
+            }
+
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("ANALYZE");
+            }
+        } catch (SQLException ex) {
+            throw new IllegalStateException("Failed to seed " + users + " users", ex);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package ru.astondevs.loadtest;
+
+import io.gatling.javaapi.core.ScenarioBuilder;
+import io.gatling.javaapi.core.Simulation;
+
+import static io.gatling.javaapi.core.CoreDsl.percent;
+import static io.gatling.javaapi.core.CoreDsl.randomSwitch;
+import static io.gatling.javaapi.core.CoreDsl.scenario;
+
+/**
+ * Creates, updates and deletes dominate, as during imports or profile
+ * sync jobs.
+ */
+public class WriteHeavySimulation extends Simulation {
+
+    private static final String NAME = "write-heavy";
+
+    private final ScenarioBuilder scenario = scenario(NAME)
+            .feed(UserApi.users(LoadTestSettings.integer("seed.users")))
+            .exec(randomSwitch().on(
+                    percent(35.0).then(UserApi.CREATE_USER),
+                    percent(35.0).then(UserApi.UPDATE_USER),
+                    percent(20.0).then(UserApi.CREATE_AND_DELETE_USER),
+                    percent(10.0).then(UserApi.GET_USER)));
+
+    {
+        setUp(scenario.injectOpen(LoadTestSettings.arrivals(NAME)))
+                .protocols(UserApi.PROTOCOL)
+                .assertions(LoadTestSettings.thresholds(NAME));
+    }
+
+    @Override
+    public void before() {
+        UserDataSeeder.seed();
+    }
+}
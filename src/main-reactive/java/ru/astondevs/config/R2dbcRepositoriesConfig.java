@@ -0,0 +1,18 @@
+package ru.astondevs.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.data.r2dbc.repository.config.EnableR2dbcRepositories;
+import ru.astondevs.repository.ReactiveUserRepository;
+
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@EnableR2dbcRepositories(
+        basePackageClasses = ReactiveUserRepository.class,
+        includeFilters = @ComponentScan.Filter(
+                type = FilterType.ASSIGNABLE_TYPE,
+                classes = ReactiveUserRepository.class))
+public class R2dbcRepositoriesConfig {
+}
@@ -0,0 +1,78 @@
+package ru.astondevs.controller;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.astondevs.dto.CreateUserRequestDTO;
+import ru.astondevs.dto.UpdateUserRequestDTO;
+import ru.astondevs.dto.UserResponseDTO;
+import ru.astondevs.dto.UserStatsResponseDTO;
+import ru.astondevs.service.ReactiveUserService;
+import ru.astondevs.service.ReactiveUserStatsService;
+
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequestMapping("/api/v1/users")
+@RequiredArgsConstructor
+public class ReactiveUserController {
+
+    private final ReactiveUserService userService;
+    private final ReactiveUserStatsService userStatsService;
+
+    @PostMapping
+    public Mono<ResponseEntity<UserResponseDTO>> createUser(
+            @Valid @RequestBody CreateUserRequestDTO createUserRequestDTO) {
+
+        return userService.createUser(createUserRequestDTO)
+                .map(createdUser -> ResponseEntity.status(HttpStatus.CREATED).body(createdUser));
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<UserResponseDTO>> getUserById(@PathVariable Long id) {
+        return userService.getUserById(id)
+                .map(ResponseEntity::ok);
+    }
+
+    @GetMapping
+    public Flux<UserResponseDTO> getAllUsers() {
+        return userService.getAllUsers();
+    }
+
+    @GetMapping("/stats")
+    public Mono<ResponseEntity<UserStatsResponseDTO>> getUserStats(
+            @RequestParam(required = false)
+            @Min(value = 1, message = "Age bucket width must be at least 1")
+            @Max(value = 150, message = "Age bucket width must be at most 150")
+            Integer ageBucketWidth,
+
+            @RequestParam(required = false)
+            @Min(value = 1, message = "Top domains must be at least 1")
+            @Max(value = 100, message = "Top domains must be at most 100")
+            Integer topDomains) {
+
+        return userStatsService.getStats(ageBucketWidth, topDomains)
+                .map(ResponseEntity::ok);
+    }
+
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<UserResponseDTO>> updateUser(
+            @PathVariable Long id,
+            @Valid @RequestBody UpdateUserRequestDTO updateUserRequestDTO) {
+
+        return userService.updateUser(id, updateUserRequestDTO)
+                .map(ResponseEntity::ok);
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Void>> deleteUser(@PathVariable Long id) {
+        return userService.deleteUser(id)
+                .thenReturn(ResponseEntity.noContent().<Void>build());
+    }
+}
@@ -0,0 +1,28 @@
+package ru.astondevs.mapper;
+
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
+import org.mapstruct.NullValuePropertyMappingStrategy;
+import org.mapstruct.ReportingPolicy;
+import ru.astondevs.dto.CreateUserRequestDTO;
+import ru.astondevs.dto.UpdateUserRequestDTO;
+import ru.astondevs.dto.UserResponseDTO;
+import ru.astondevs.entity.ReactiveUser;
+
+@Mapper(componentModel = "spring",
+        nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE,
+        unmappedTargetPolicy = ReportingPolicy.IGNORE
+)
+public interface ReactiveUserMapper {
+
+    @Mapping(source = "id", target = "userId")
+    UserResponseDTO toUserResponseDTO(ReactiveUser user);
+
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
+    ReactiveUser toReactiveUser(CreateUserRequestDTO createUserRequestDTO);
+
+    void updateReactiveUser(UpdateUserRequestDTO updateUserRequestDTO, @MappingTarget ReactiveUser user);
+}
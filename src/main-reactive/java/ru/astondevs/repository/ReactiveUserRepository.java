@@ -0,0 +1,36 @@
+package ru.astondevs.repository;
+
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.astondevs.entity.ReactiveUser;
+import ru.astondevs.repository.projection.AgeCount;
+import ru.astondevs.repository.projection.DailySignupCount;
+import ru.astondevs.repository.projection.EmailDomainCount;
+
+@Repository
+public interface ReactiveUserRepository extends R2dbcRepository<ReactiveUser, Long> {
+
+    @Query(UserQueries.EXISTS_BY_EMAIL)
+    Mono<Boolean> existsByEmail(@Param("email") String email);
+
+    @Query(UserQueries.EXISTS_BY_EMAIL_AND_ID_NOT)
+    Mono<Boolean> existsByEmailAndIdNot(@Param("email") String email, @Param("id") Long id);
+
+    @Query(UserQueries.COUNT_BY_AGE)
+    Flux<AgeCount> countByAge();
+
+    // UserRepository expresses this in JPQL to get LocalDate days from Hibernate
+    @Query("""
+            SELECT CAST(created_at AS DATE) AS day, COUNT(*) AS total
+            FROM users
+            GROUP BY 1
+            ORDER BY 1""")
+    Flux<DailySignupCount> countSignupsPerDay();
+
+    @Query(UserQueries.COUNT_BY_EMAIL_DOMAIN)
+    Flux<EmailDomainCount> countByEmailDomain();
+}
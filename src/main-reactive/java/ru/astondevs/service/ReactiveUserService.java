@@ -0,0 +1,100 @@
+package ru.astondevs.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.astondevs.dto.CreateUserRequestDTO;
+import ru.astondevs.dto.UpdateUserRequestDTO;
+import ru.astondevs.dto.UserResponseDTO;
+import ru.astondevs.entity.ReactiveUser;
+import ru.astondevs.exception.UserAlreadyExistsException;
+import ru.astondevs.exception.UserNotFoundException;
+import ru.astondevs.mapper.ReactiveUserMapper;
+import ru.astondevs.repository.ReactiveUserRepository;
+
+import java.time.LocalDateTime;
+
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+public class ReactiveUserService {
+
+    private final ReactiveUserRepository userRepository;
+    private final ReactiveUserMapper userMapper;
+    private final TransactionalOperator transactionalOperator;
+
+    public Mono<UserResponseDTO> createUser(CreateUserRequestDTO createUserRequestDTO) {
+        return userRepository.existsByEmail(createUserRequestDTO.email())
+                .flatMap(exists -> {
+                    if (exists) {
+                        return Mono.<ReactiveUser>error(new UserAlreadyExistsException(
+                                String.format("User with email %s already exists",
+                                        createUserRequestDTO.email())
+                        ));
+                    }
+
+                    ReactiveUser user = userMapper.toReactiveUser(createUserRequestDTO);
+                    LocalDateTime now = LocalDateTime.now();
+                    user.setCreatedAt(now);
+                    user.setUpdatedAt(now);
+                    return userRepository.save(user);
+                })
+                .map(userMapper::toUserResponseDTO)
+                .as(transactionalOperator::transactional);
+    }
+
+    public Mono<UserResponseDTO> getUserById(Long id) {
+        return findUserById(id)
+                .map(userMapper::toUserResponseDTO);
+    }
+
+    public Flux<UserResponseDTO> getAllUsers() {
+        return userRepository.findAll()
+                .map(userMapper::toUserResponseDTO);
+    }
+
+    public Mono<UserResponseDTO> updateUser(Long id, UpdateUserRequestDTO updateUserRequestDTO) {
+        return findUserById(id)
+                .flatMap(user -> {
+                    if (updateUserRequestDTO.email() == null ||
+                            updateUserRequestDTO.email().equals(user.getEmail())) {
+                        return Mono.just(user);
+                    }
+
+                    return userRepository.existsByEmailAndIdNot(updateUserRequestDTO.email(), id)
+                            .flatMap(exists -> exists
+                                    ? Mono.<ReactiveUser>error(new UserAlreadyExistsException(
+                                            String.format("User with email %s already exists",
+                                                    updateUserRequestDTO.email())
+                                    ))
+                                    : Mono.just(user));
+                })
+                .flatMap(user -> {
+                    userMapper.updateReactiveUser(updateUserRequestDTO, user);
+                    user.setUpdatedAt(LocalDateTime.now());
+                    return userRepository.save(user);
+                })
+                .map(userMapper::toUserResponseDTO)
+                .as(transactionalOperator::transactional);
+    }
+
+    public Mono<Void> deleteUser(Long id) {
+        return userRepository.existsById(id)
+                .flatMap(exists -> exists
+                        ? userRepository.deleteById(id)
+                        : Mono.<Void>error(new UserNotFoundException(
+                                String.format("User with id %d not found", id)
+                        )))
+                .as(transactionalOperator::transactional);
+    }
+
+    private Mono<ReactiveUser> findUserById(Long id) {
+        return userRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new UserNotFoundException(
+                        String.format("User with id %d not found", id)
+                )));
+    }
+}
@@ -0,0 +1,99 @@
+package ru.astondevs.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.FixedDelayTask;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.ReactiveTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+import reactor.core.publisher.Mono;
+import ru.astondevs.config.UserStatsProperties;
+import ru.astondevs.dto.UserStatsResponseDTO;
+import ru.astondevs.repository.ReactiveUserRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Reactive counterpart of {@link UserStatsService}. Always aggregates in
+ * the database; the in-memory snapshot mode is servlet-only. The
+ * aggregates are read one after another in a single read-only
+ * repeatable-read transaction, so they come from one consistent snapshot,
+ * and are refreshed in the background like on the servlet stack.
+ */
+@Slf4j
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveUserStatsService implements SchedulingConfigurer {
+
+    private final ReactiveUserRepository userRepository;
+    private final UserStatsProperties properties;
+    private final TransactionalOperator transactionalOperator;
+    private final Mono<UserStatsAggregates> initialLoad;
+
+    private volatile UserStatsAggregates current;
+
+    public ReactiveUserStatsService(ReactiveUserRepository userRepository,
+                                    UserStatsProperties properties,
+                                    ReactiveTransactionManager transactionManager) {
+        this.userRepository = userRepository;
+        this.properties = properties;
+
+        DefaultTransactionDefinition definition = new DefaultTransactionDefinition();
+        definition.setReadOnly(true);
+        definition.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.transactionalOperator = TransactionalOperator.create(transactionManager, definition);
+
+        this.initialLoad = Mono.defer(this::load)
+                .doOnNext(aggregates -> current = aggregates)
+                .cache(aggregates -> Duration.ofMillis(Long.MAX_VALUE),
+                        ex -> Duration.ZERO,
+                        () -> Duration.ZERO);
+    }
+
+    public Mono<UserStatsResponseDTO> getStats(Integer ageBucketWidth, Integer topDomains) {
+        int width = ageBucketWidth != null ? ageBucketWidth : properties.ageBucketWidth();
+        int top = topDomains != null ? topDomains : properties.topDomains();
+
+        return currentAggregates().map(aggregates -> aggregates.compute(width, top));
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar taskRegistrar) {
+        Duration interval = properties.refreshInterval();
+        if (!interval.isZero()) {
+            taskRegistrar.addFixedDelayTask(new FixedDelayTask(this::refresh, interval, interval));
+        }
+    }
+
+    void refresh() {
+        try {
+            current = load().block();
+        } catch (RuntimeException ex) {
+            log.warn("Failed to refresh user statistics, keeping the previous copy", ex);
+        }
+    }
+
+    private Mono<UserStatsAggregates> currentAggregates() {
+        if (properties.refreshInterval().isZero()) {
+            return load();
+        }
+
+        UserStatsAggregates aggregates = current;
+        return aggregates != null ? Mono.just(aggregates) : initialLoad;
+    }
+
+    private Mono<UserStatsAggregates> load() {
+        return userRepository.count().flatMap(total ->
+                userRepository.countByAge().collectList().flatMap(ages ->
+                        userRepository.countSignupsPerDay().collectList().flatMap(days ->
+                                userRepository.countByEmailDomain().collectList().map(domains ->
+                                        UserStatsAggregates.of(total, ages, days, domains,
+                                                LocalDateTime.now())))))
+                .as(transactionalOperator::transactional);
+    }
+}
@@ -0,0 +1,25 @@
+package ru.astondevs.config;
+
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+@Configuration(proxyBeanMethods = false)
+public class FlywayConfig {
+
+    /**
+     * A context started with {@code spring.context.exit=onRefresh} (the CDS
+     * training run of the fast-startup build) never serves requests, so it
+     * skips migrations and does not need a database.
+     */
+    @Bean
+    public FlywayMigrationStrategy flywayMigrationStrategy(Environment environment) {
+        boolean exitOnRefresh = "onRefresh".equals(environment.getProperty("spring.context.exit"));
+        return flyway -> {
+            if (!exitOnRefresh) {
+                flyway.migrate();
+            }
+        };
+    }
+}
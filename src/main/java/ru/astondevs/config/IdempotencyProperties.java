@@ -0,0 +1,22 @@
+package ru.astondevs.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "user-service.idempotency")
+public record IdempotencyProperties(
+        @DefaultValue("24h")
+        Duration ttl,
+
+        @DefaultValue("30s")
+        Duration waitTimeout,
+
+        @DefaultValue("1m")
+        Duration lease,
+
+        @DefaultValue("15m")
+        Duration cleanupInterval
+) {
+}
@@ -0,0 +1,19 @@
+package ru.astondevs.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import ru.astondevs.repository.IdempotencyKeyRepository;
+import ru.astondevs.repository.UserRepository;
+
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@EnableJpaRepositories(
+        basePackageClasses = UserRepository.class,
+        includeFilters = @ComponentScan.Filter(
+                type = FilterType.ASSIGNABLE_TYPE,
+                classes = {UserRepository.class, IdempotencyKeyRepository.class}))
+public class JpaRepositoriesConfig {
+}
@@ -0,0 +1,16 @@
+package ru.astondevs.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "user-service.update-coalescing")
+public record UpdateCoalescingProperties(
+        @DefaultValue("false")
+        boolean enabled,
+
+        @DefaultValue("5ms")
+        Duration window
+) {
+}
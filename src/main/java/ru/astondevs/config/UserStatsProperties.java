@@ -0,0 +1,27 @@
+package ru.astondevs.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "user-service.stats")
+public record UserStatsProperties(
+        @DefaultValue("database")
+        Mode mode,
+
+        @DefaultValue("5m")
+        Duration refreshInterval,
+
+        @DefaultValue("10")
+        int ageBucketWidth,
+
+        @DefaultValue("10")
+        int topDomains
+) {
+
+    public enum Mode {
+        DATABASE,
+        IN_MEMORY
+    }
+}
@@ -0,0 +1,53 @@
+package ru.astondevs.config;
+
+import org.springframework.boot.autoconfigure.AutoConfigurationImportFilter;
+import org.springframework.boot.autoconfigure.AutoConfigurationMetadata;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.env.Environment;
+
+import java.util.Set;
+
+/**
+ * Keeps the persistence auto-configuration of the other web stack out of
+ * the context: JPA and the JDBC transaction manager when running reactive,
+ * R2DBC otherwise. JDBC itself stays on both stacks because Flyway needs it.
+ * <p>
+ * Unlike {@code spring.autoconfigure.exclude}, this does not depend on
+ * which property source wins, so profiles and environment variables can
+ * still add their own exclusions.
+ */
+public class WebStackAutoConfigurationFilter implements AutoConfigurationImportFilter, EnvironmentAware {
+
+    private static final Set<String> SERVLET_ONLY = Set.of(
+            "org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration",
+            "org.springframework.boot.autoconfigure.data.jpa.JpaRepositoriesAutoConfiguration",
+            "org.springframework.boot.autoconfigure.jdbc.DataSourceTransactionManagerAutoConfiguration");
+
+    private static final Set<String> REACTIVE_ONLY = Set.of(
+            "org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration",
+            "org.springframework.boot.autoconfigure.r2dbc.R2dbcTransactionManagerAutoConfiguration",
+            "org.springframework.boot.autoconfigure.data.r2dbc.R2dbcDataAutoConfiguration",
+            "org.springframework.boot.autoconfigure.data.r2dbc.R2dbcRepositoriesAutoConfiguration");
+
+    private Environment environment;
+
+    @Override
+    public void setEnvironment(Environment environment) {
+        this.environment = environment;
+    }
+
+    @Override
+    public boolean[] match(String[] autoConfigurationClasses, AutoConfigurationMetadata autoConfigurationMetadata) {
+        Set<String> excluded = "reactive".equalsIgnoreCase(
+                environment.getProperty("spring.main.web-application-type"))
+                ? SERVLET_ONLY
+                : REACTIVE_ONLY;
+
+        boolean[] matches = new boolean[autoConfigurationClasses.length];
+        for (int i = 0; i < autoConfigurationClasses.length; i++) {
+            matches[i] = autoConfigurationClasses[i] == null
+                    || !excluded.contains(autoConfigurationClasses[i]);
+        }
+        return matches;
+    }
+}
@@ -0,0 +1,50 @@
+package ru.astondevs.config;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.util.ClassUtils;
+
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Fails startup with a clear message when the reactive stack is selected
+ * at run time ({@code spring.profiles.active=reactive}) but the artifact was
+ * built without the {@code reactive} Maven profile, so neither WebFlux and
+ * R2DBC nor the reactive controllers are on the classpath.
+ */
+public class WebStackEnvironmentPostProcessor implements EnvironmentPostProcessor {
+
+    private static final List<String> REACTIVE_CLASSES = List.of(
+            "org.springframework.web.reactive.DispatcherHandler",
+            "org.springframework.data.r2dbc.core.R2dbcEntityTemplate",
+            "ru.astondevs.controller.ReactiveUserController");
+
+    private final Predicate<String> classPresent;
+
+    public WebStackEnvironmentPostProcessor() {
+        this((className) -> ClassUtils.isPresent(className, WebStackEnvironmentPostProcessor.class.getClassLoader()));
+    }
+
+    WebStackEnvironmentPostProcessor(Predicate<String> classPresent) {
+        this.classPresent = classPresent;
+    }
+
+    @Override
+    public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+        if (!"reactive".equalsIgnoreCase(environment.getProperty("spring.main.web-application-type"))) {
+            return;
+        }
+
+        List<String> missing = REACTIVE_CLASSES.stream()
+                .filter(classPresent.negate())
+                .toList();
+        if (!missing.isEmpty()) {
+            throw new IllegalStateException(String.format(
+                    "The reactive stack was selected, but this build does not contain it (missing %s). "
+                            + "Build with 'mvn -P reactive package' to run with spring.profiles.active=reactive",
+                    String.join(", ", missing)));
+        }
+    }
+}
@@ -1,23 +1,32 @@
 package ru.astondevs.controller;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import ru.astondevs.dto.CreateUserRequestDTO;
 import ru.astondevs.dto.UpdateUserRequestDTO;
 import ru.astondevs.dto.UserResponseDTO;
+import ru.astondevs.dto.UserStatsResponseDTO;
 import ru.astondevs.service.UserService;
+import ru.astondevs.service.UserStatsService;
+import ru.astondevs.service.UserUpdateCoalescer;
 
 import java.util.List;
 
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/api/v1/users")
 @RequiredArgsConstructor
 public class UserController {
 
     private final UserService userService;
+    private final UserStatsService userStatsService;
+    private final UserUpdateCoalescer userUpdateCoalescer;
 
     @PostMapping
     public ResponseEntity<UserResponseDTO> createUser(
@@ -39,12 +48,28 @@ public class UserController {
         return ResponseEntity.ok(users);
     }
 
+    @GetMapping("/stats")
+    public ResponseEntity<UserStatsResponseDTO> getUserStats(
+            @RequestParam(required = false)
+            @Min(value = 1, message = "Age bucket width must be at least 1")
+            @Max(value = 150, message = "Age bucket width must be at most 150")
+            Integer ageBucketWidth,
+
+            @RequestParam(required = false)
+            @Min(value = 1, message = "Top domains must be at least 1")
+            @Max(value = 100, message = "Top domains must be at most 100")
+            Integer topDomains) {
+
+        UserStatsResponseDTO stats = userStatsService.getStats(ageBucketWidth, topDomains);
+        return ResponseEntity.ok(stats);
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<UserResponseDTO> updateUser(
             @PathVariable Long id,
             @Valid @RequestBody UpdateUserRequestDTO updateUserRequestDTO) {
 
-        UserResponseDTO updatedUser = userService.updateUser(id, updateUserRequestDTO);
+        UserResponseDTO updatedUser = userUpdateCoalescer.updateUser(id, updateUserRequestDTO);
         return ResponseEntity.ok(updatedUser);
     }
 
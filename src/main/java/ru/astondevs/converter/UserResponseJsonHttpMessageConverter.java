@@ -0,0 +1,315 @@
+package ru.astondevs.converter;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import ru.astondevs.dto.UserResponseDTO;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Writes {@link UserResponseDTO} and lists of them as JSON without going
+ * through Jackson. Field names are pre-encoded, dates are formatted digit
+ * by digit and everything is written through a per-thread buffer straight
+ * to the response stream. The output is byte-for-byte what the Jackson
+ * converter produces for the same values, including string escaping and
+ * the {@code yyyy-MM-dd HH:mm:ss} date format.
+ * <p>
+ * Disable with {@code user-service.json-writer.enabled=false} to fall back
+ * to Jackson.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(prefix = "user-service.json-writer", name = "enabled", matchIfMissing = true)
+public class UserResponseJsonHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    private static final byte[] USER_ID = ascii("{\"userId\":");
+    private static final byte[] NAME = ascii(",\"name\":");
+    private static final byte[] EMAIL = ascii(",\"email\":");
+    private static final byte[] AGE = ascii(",\"age\":");
+    private static final byte[] CREATED_AT = ascii(",\"createdAt\":");
+    private static final byte[] UPDATED_AT = ascii(",\"updatedAt\":");
+    private static final byte[] NULL = ascii("null");
+    private static final byte[] HEX = ascii("0123456789ABCDEF");
+
+    private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private static final ThreadLocal<JsonBuffer> BUFFER = ThreadLocal.withInitial(JsonBuffer::new);
+
+    public UserResponseJsonHttpMessageConverter() {
+        super(MediaType.APPLICATION_JSON);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return UserResponseDTO.class == clazz;
+    }
+
+    @Override
+    public boolean canRead(Type type, @Nullable Class<?> contextClass, @Nullable MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected boolean canRead(@Nullable MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(@Nullable Type type, Class<?> clazz, @Nullable MediaType mediaType) {
+        if (!canWrite(mediaType)) {
+            return false;
+        }
+        if (UserResponseDTO.class == clazz) {
+            return true;
+        }
+        if (type == null || !List.class.isAssignableFrom(clazz)) {
+            return false;
+        }
+        ResolvableType resolvableType = ResolvableType.forType(type);
+        return List.class.isAssignableFrom(resolvableType.toClass())
+                && UserResponseDTO.class == resolvableType.asCollection().getGeneric().resolve();
+    }
+
+    @Override
+    public Object read(Type type, @Nullable Class<?> contextClass, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Reading is not supported", inputMessage);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Reading is not supported", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(Object value, @Nullable Type type, HttpOutputMessage outputMessage)
+            throws IOException {
+        JsonBuffer buffer = BUFFER.get();
+        buffer.open(outputMessage.getBody());
+        try {
+            if (value instanceof UserResponseDTO user) {
+                writeUser(user, buffer);
+            } else {
+                writeUsers((List<?>) value, buffer);
+            }
+            buffer.flush();
+        } finally {
+            buffer.close();
+        }
+    }
+
+    private static void writeUsers(List<?> users, JsonBuffer buffer) throws IOException {
+        buffer.write((byte) '[');
+        for (int i = 0; i < users.size(); i++) {
+            if (i > 0) {
+                buffer.write((byte) ',');
+            }
+            writeUser((UserResponseDTO) users.get(i), buffer);
+        }
+        buffer.write((byte) ']');
+    }
+
+    private static void writeUser(UserResponseDTO user, JsonBuffer buffer) throws IOException {
+        buffer.write(USER_ID);
+        buffer.writeLong(user.userId());
+        buffer.write(NAME);
+        writeString(user.name(), buffer);
+        buffer.write(EMAIL);
+        writeString(user.email(), buffer);
+        buffer.write(AGE);
+        buffer.writeLong(user.age());
+        buffer.write(CREATED_AT);
+        writeDateTime(user.createdAt(), buffer);
+        buffer.write(UPDATED_AT);
+        writeDateTime(user.updatedAt(), buffer);
+        buffer.write((byte) '}');
+    }
+
+    private static void writeString(@Nullable String value, JsonBuffer buffer) throws IOException {
+        if (value == null) {
+            buffer.write(NULL);
+            return;
+        }
+
+        buffer.write((byte) '"');
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c >= 0x80) {
+                writeNonAscii(c, buffer);
+            } else if (c == '"' || c == '\\') {
+                buffer.write((byte) '\\', (byte) c);
+            } else if (c >= 0x20) {
+                buffer.write((byte) c);
+            } else {
+                writeControl(c, buffer);
+            }
+        }
+        buffer.write((byte) '"');
+    }
+
+    private static void writeControl(char c, JsonBuffer buffer) throws IOException {
+        switch (c) {
+            case '\b' -> buffer.write((byte) '\\', (byte) 'b');
+            case '\t' -> buffer.write((byte) '\\', (byte) 't');
+            case '\n' -> buffer.write((byte) '\\', (byte) 'n');
+            case '\f' -> buffer.write((byte) '\\', (byte) 'f');
+            case '\r' -> buffer.write((byte) '\\', (byte) 'r');
+            default -> {
+                buffer.write((byte) '\\', (byte) 'u');
+                buffer.write((byte) '0', (byte) '0');
+                buffer.write(HEX[c >> 4], HEX[c & 0xF]);
+            }
+        }
+    }
+
+    private static void writeNonAscii(char c, JsonBuffer buffer) throws IOException {
+        if (c < 0x800) {
+            buffer.write((byte) (0xC0 | (c >> 6)), (byte) (0x80 | (c & 0x3F)));
+        } else if (Character.isSurrogate(c)) {
+            // Jackson escapes surrogates instead of combining them into 4-byte UTF-8
+            buffer.write((byte) '\\', (byte) 'u');
+            buffer.write(HEX[c >> 12], HEX[(c >> 8) & 0xF]);
+            buffer.write(HEX[(c >> 4) & 0xF], HEX[c & 0xF]);
+        } else {
+            buffer.write((byte) (0xE0 | (c >> 12)), (byte) (0x80 | ((c >> 6) & 0x3F)));
+            buffer.write((byte) (0x80 | (c & 0x3F)));
+        }
+    }
+
+    private static void writeDateTime(@Nullable LocalDateTime value, JsonBuffer buffer) throws IOException {
+        if (value == null) {
+            buffer.write(NULL);
+            return;
+        }
+
+        int year = value.getYear();
+        buffer.write((byte) '"');
+        if (year < 1 || year > 9999) {
+            buffer.write(ascii(DATE_TIME_FORMATTER.format(value)));
+        } else {
+            writeDigits(year / 100, buffer);
+            writeDigits(year % 100, buffer);
+            buffer.write((byte) '-');
+            writeDigits(value.getMonthValue(), buffer);
+            buffer.write((byte) '-');
+            writeDigits(value.getDayOfMonth(), buffer);
+            buffer.write((byte) ' ');
+            writeDigits(value.getHour(), buffer);
+            buffer.write((byte) ':');
+            writeDigits(value.getMinute(), buffer);
+            buffer.write((byte) ':');
+            writeDigits(value.getSecond(), buffer);
+        }
+        buffer.write((byte) '"');
+    }
+
+    private static void writeDigits(int twoDigits, JsonBuffer buffer) throws IOException {
+        buffer.write((byte) ('0' + twoDigits / 10), (byte) ('0' + twoDigits % 10));
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Reusable output buffer, one per thread. It is bound to a response
+     * stream for the duration of one write and flushed whenever it fills up,
+     * so large lists are streamed rather than accumulated.
+     */
+    private static final class JsonBuffer {
+
+        private static final int SIZE = 8192;
+        private static final int MAX_LONG_DIGITS = 20;
+
+        private final byte[] bytes = new byte[SIZE];
+        private int position;
+        private OutputStream out;
+
+        void open(OutputStream out) {
+            this.out = out;
+            this.position = 0;
+        }
+
+        void close() {
+            this.out = null;
+        }
+
+        void write(byte b) throws IOException {
+            ensureCapacity(1);
+            bytes[position++] = b;
+        }
+
+        void write(byte first, byte second) throws IOException {
+            ensureCapacity(2);
+            bytes[position++] = first;
+            bytes[position++] = second;
+        }
+
+        void write(byte[] source) throws IOException {
+            if (source.length > SIZE) {
+                flush();
+                out.write(source);
+                return;
+            }
+            ensureCapacity(source.length);
+            System.arraycopy(source, 0, bytes, position, source.length);
+            position += source.length;
+        }
+
+        void writeLong(long value) throws IOException {
+            if (value == Long.MIN_VALUE) {
+                write(ascii(Long.toString(value)));
+                return;
+            }
+
+            ensureCapacity(MAX_LONG_DIGITS);
+            if (value < 0) {
+                bytes[position++] = '-';
+                value = -value;
+            }
+            int end = position + digitCount(value);
+            int index = end;
+            do {
+                bytes[--index] = (byte) ('0' + value % 10);
+                value /= 10;
+            } while (value != 0);
+            position = end;
+        }
+
+        void flush() throws IOException {
+            if (position > 0) {
+                out.write(bytes, 0, position);
+                position = 0;
+            }
+        }
+
+        private void ensureCapacity(int length) throws IOException {
+            if (position + length > SIZE) {
+                flush();
+            }
+        }
+
+        private static int digitCount(long value) {
+            int count = 1;
+            while (value >= 10) {
+                value /= 10;
+                count++;
+            }
+            return count;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package ru.astondevs.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public record UserStatsResponseDTO(
+        long totalUsers,
+        List<AgeBucket> ageHistogram,
+        List<DailySignups> signupsPerDay,
+        List<EmailDomain> topEmailDomains,
+
+        @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+        LocalDateTime generatedAt
+) {
+
+    public record AgeBucket(int fromAge, int toAge, long count) {
+    }
+
+    public record DailySignups(LocalDate date, long count) {
+    }
+
+    public record EmailDomain(String domain, long count) {
+    }
+}
@@ -0,0 +1,288 @@
+package ru.astondevs.filter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import ru.astondevs.config.IdempotencyProperties;
+import ru.astondevs.entity.IdempotencyKey;
+import ru.astondevs.exception.IdempotencyKeyConflictException;
+import ru.astondevs.exception.InvalidIdempotencyKeyException;
+import ru.astondevs.service.IdempotencyService;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Makes {@code POST}/{@code PUT} requests to the user API carrying an
+ * {@code Idempotency-Key} header safe to retry. The first request with a key
+ * runs normally and its response is stored; repeats are answered from the
+ * stored response after a single primary-key lookup, and concurrent repeats
+ * wait for the first execution instead of running the business logic again.
+ * Repeats arriving at another instance poll the stored key until it completes.
+ * A claim holds a lease of {@code user-service.idempotency.lease} that the
+ * owning instance renews while the request runs; once it has expired without
+ * a stored response (the owner died or failed to release the key) the next
+ * request takes the key over and runs the request itself.
+ */
+@Slf4j
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String IDEMPOTENT_REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final String USERS_PATH = "/api/v1/users";
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final long POLL_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+    private final IdempotencyService idempotencyService;
+    private final IdempotencyProperties properties;
+    private final HandlerExceptionResolver handlerExceptionResolver;
+
+    private final Map<String, CompletableFuture<Void>> inFlight = new ConcurrentHashMap<>();
+
+    public IdempotencyFilter(IdempotencyService idempotencyService,
+                             IdempotencyProperties properties,
+                             @Qualifier("handlerExceptionResolver")
+                             HandlerExceptionResolver handlerExceptionResolver) {
+        this.idempotencyService = idempotencyService;
+        this.properties = properties;
+        this.handlerExceptionResolver = handlerExceptionResolver;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String method = request.getMethod();
+        return request.getHeader(IDEMPOTENCY_KEY_HEADER) == null
+                || !("POST".equals(method) || "PUT".equals(method))
+                || !request.getRequestURI().startsWith(request.getContextPath() + USERS_PATH);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String key = request.getHeader(IDEMPOTENCY_KEY_HEADER);
+        try {
+            if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+                throw new InvalidIdempotencyKeyException(String.format(
+                        "%s must be between 1 and %d characters", IDEMPOTENCY_KEY_HEADER, MAX_KEY_LENGTH));
+            }
+
+            CachedBodyRequest cachedRequest = new CachedBodyRequest(request);
+            byte[] requestHash = hash(request.getMethod(), request.getRequestURI(), cachedRequest.body);
+            execute(key, requestHash, cachedRequest, response, filterChain);
+        } catch (InvalidIdempotencyKeyException | IdempotencyKeyConflictException ex) {
+            handlerExceptionResolver.resolveException(request, response, null, ex);
+        }
+    }
+
+    private void execute(String key, byte[] requestHash, HttpServletRequest request,
+                         HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long deadline = System.nanoTime() + properties.waitTimeout().toNanos();
+        while (true) {
+            Optional<IdempotencyKey> stored = idempotencyService.find(key);
+            if (stored.isPresent()) {
+                IdempotencyKey entry = stored.get();
+                if (!Arrays.equals(entry.getRequestHash(), requestHash)) {
+                    throw new IdempotencyKeyConflictException(String.format(
+                            "%s %s was already used with a different request", IDEMPOTENCY_KEY_HEADER, key));
+                }
+                if (entry.isCompleted()) {
+                    replay(entry, response);
+                    return;
+                }
+                if (!entry.isLeaseExpired(LocalDateTime.now())) {
+                    awaitCompletion(key, deadline);
+                    continue;
+                }
+            }
+
+            CompletableFuture<Void> execution = new CompletableFuture<>();
+            if (inFlight.putIfAbsent(key, execution) != null) {
+                awaitCompletion(key, deadline);
+                continue;
+            }
+
+            try {
+                Optional<UUID> owner = stored.isPresent()
+                        ? idempotencyService.takeOver(key)
+                        : idempotencyService.claim(key, requestHash);
+                if (owner.isPresent()) {
+                    executeAndStore(key, owner.get(), request, response, filterChain);
+                    return;
+                }
+            } finally {
+                inFlight.remove(key, execution);
+                execution.complete(null);
+            }
+        }
+    }
+
+    private void executeAndStore(String key, UUID owner, HttpServletRequest request, HttpServletResponse response,
+                                 FilterChain filterChain) throws ServletException, IOException {
+        ContentCachingResponseWrapper cachingResponse = new ContentCachingResponseWrapper(response);
+        boolean finished = false;
+        try {
+            filterChain.doFilter(request, cachingResponse);
+            if (cachingResponse.getStatus() < HttpServletResponse.SC_INTERNAL_SERVER_ERROR) {
+                finished = true;
+                if (!idempotencyService.complete(key, owner, cachingResponse.getStatus(),
+                        cachingResponse.getContentType(), cachingResponse.getContentAsByteArray())) {
+                    log.warn("Response for {} {} was not stored, the claim was taken over", IDEMPOTENCY_KEY_HEADER, key);
+                }
+            }
+        } finally {
+            if (!finished && !idempotencyService.release(key, owner)) {
+                log.warn("{} {} was not released, the claim was taken over", IDEMPOTENCY_KEY_HEADER, key);
+            }
+            cachingResponse.copyBodyToResponse();
+        }
+    }
+
+    private void replay(IdempotencyKey entry, HttpServletResponse response) throws IOException {
+        response.setStatus(entry.getStatusCode());
+        response.setHeader(IDEMPOTENT_REPLAYED_HEADER, "true");
+        if (entry.getContentType() != null) {
+            response.setContentType(entry.getContentType());
+        }
+        if (entry.getResponseBody() != null) {
+            response.setContentLength(entry.getResponseBody().length);
+            response.getOutputStream().write(entry.getResponseBody());
+        }
+    }
+
+    /**
+     * Waits until the key may have changed state: on the local execution when
+     * this instance owns it, otherwise for one poll interval, since the owner
+     * may be another instance and the row is the only shared signal.
+     */
+    private void awaitCompletion(String key, long deadline) throws ServletException {
+        long remaining = deadline - System.nanoTime();
+        if (remaining <= 0) {
+            throw inProgress(key);
+        }
+        try {
+            CompletableFuture<Void> running = inFlight.get(key);
+            if (running != null) {
+                running.get(remaining, TimeUnit.NANOSECONDS);
+            } else {
+                TimeUnit.NANOSECONDS.sleep(Math.min(POLL_INTERVAL_NANOS, remaining));
+            }
+        } catch (TimeoutException ex) {
+            throw inProgress(key);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ServletException(ex);
+        } catch (ExecutionException ex) {
+            throw new ServletException(ex.getCause());
+        }
+    }
+
+    private static IdempotencyKeyConflictException inProgress(String key) {
+        return new IdempotencyKeyConflictException(String.format(
+                "Request with %s %s is still being processed", IDEMPOTENCY_KEY_HEADER, key));
+    }
+
+    private static byte[] hash(String method, String uri, byte[] body) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(method.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) ' ');
+            digest.update(uri.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) '\n');
+            return digest.digest(body);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request) throws IOException {
+            super(request);
+            this.body = StreamUtils.copyToByteArray(request.getInputStream());
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                /**
+                 * The body is already in memory, so it is always ready and the
+                 * listener is notified straight away rather than by the container.
+                 */
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    try {
+                        if (!isFinished()) {
+                            readListener.onDataAvailable();
+                        }
+                        readListener.onAllDataRead();
+                    } catch (IOException ex) {
+                        readListener.onError(ex);
+                    }
+                }
+
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return input.read(buffer, offset, length);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            Charset charset = getCharacterEncoding() != null
+                    ? Charset.forName(getCharacterEncoding())
+                    : StandardCharsets.UTF_8;
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+    }
+}
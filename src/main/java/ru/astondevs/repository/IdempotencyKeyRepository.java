@@ -0,0 +1,67 @@
+package ru.astondevs.repository;
+
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import ru.astondevs.entity.IdempotencyKey;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Repository
+public interface IdempotencyKeyRepository extends CrudRepository<IdempotencyKey, String> {
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO idempotency_keys (idempotency_key, request_hash, owner, created_at, locked_until)
+            VALUES (:key, :requestHash, :owner, :createdAt, :lockedUntil)
+            ON CONFLICT DO NOTHING""",
+            nativeQuery = true)
+    int insertIfAbsent(@Param("key") String key,
+                       @Param("requestHash") byte[] requestHash,
+                       @Param("owner") UUID owner,
+                       @Param("createdAt") LocalDateTime createdAt,
+                       @Param("lockedUntil") LocalDateTime lockedUntil);
+
+    @Modifying
+    @Query("""
+            UPDATE IdempotencyKey k
+            SET k.owner = :owner, k.lockedUntil = :lockedUntil
+            WHERE k.idempotencyKey = :key AND k.statusCode IS NULL AND k.lockedUntil < :now""")
+    int takeOverExpired(@Param("key") String key,
+                        @Param("owner") UUID owner,
+                        @Param("now") LocalDateTime now,
+                        @Param("lockedUntil") LocalDateTime lockedUntil);
+
+    @Modifying
+    @Query("""
+            UPDATE IdempotencyKey k
+            SET k.lockedUntil = :lockedUntil
+            WHERE k.idempotencyKey = :key AND k.owner = :owner AND k.statusCode IS NULL""")
+    int renewLease(@Param("key") String key,
+                   @Param("owner") UUID owner,
+                   @Param("lockedUntil") LocalDateTime lockedUntil);
+
+    @Modifying
+    @Query("""
+            UPDATE IdempotencyKey k
+            SET k.statusCode = :statusCode, k.contentType = :contentType, k.responseBody = :responseBody
+            WHERE k.idempotencyKey = :key AND k.owner = :owner AND k.statusCode IS NULL""")
+    int storeResponse(@Param("key") String key,
+                      @Param("owner") UUID owner,
+                      @Param("statusCode") int statusCode,
+                      @Param("contentType") String contentType,
+                      @Param("responseBody") byte[] responseBody);
+
+    @Modifying
+    @Query("""
+            DELETE FROM IdempotencyKey k
+            WHERE k.idempotencyKey = :key AND k.owner = :owner AND k.statusCode IS NULL""")
+    int deleteClaim(@Param("key") String key, @Param("owner") UUID owner);
+
+    @Modifying
+    @Query("DELETE FROM IdempotencyKey k WHERE k.createdAt < :threshold")
+    int deleteCreatedBefore(@Param("threshold") LocalDateTime threshold);
+}
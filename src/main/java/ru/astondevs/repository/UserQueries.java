@@ -0,0 +1,30 @@
+package ru.astondevs.repository;
+
+/**
+ * Native SQL shared by the JPA and R2DBC user repositories, so both
+ * stacks run the same statements.
+ */
+public final class UserQueries {
+
+    public static final String EXISTS_BY_EMAIL =
+            "SELECT EXISTS (SELECT 1 FROM user_emails WHERE email = :email)";
+
+    public static final String EXISTS_BY_EMAIL_AND_ID_NOT =
+            "SELECT EXISTS (SELECT 1 FROM user_emails WHERE email = :email AND user_id <> :id)";
+
+    public static final String COUNT_BY_AGE = """
+            SELECT age AS age, COUNT(*) AS total
+            FROM users
+            WHERE age IS NOT NULL
+            GROUP BY age
+            ORDER BY age""";
+
+    public static final String COUNT_BY_EMAIL_DOMAIN = """
+            SELECT lower(split_part(email, '@', 2)) AS domain, COUNT(*) AS total
+            FROM users
+            GROUP BY 1
+            ORDER BY total DESC, domain""";
+
+    private UserQueries() {
+    }
+}
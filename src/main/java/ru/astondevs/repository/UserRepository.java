@@ -1,13 +1,44 @@
 package ru.astondevs.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import ru.astondevs.entity.User;
+import ru.astondevs.repository.projection.AgeCount;
+import ru.astondevs.repository.projection.DailySignupCount;
+import ru.astondevs.repository.projection.EmailDomainCount;
+import ru.astondevs.repository.projection.UserStatsRow;
+
+import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface UserRepository extends CrudRepository<User, Long> {
 
-    boolean existsByEmail(String email);
+    @Query(value = UserQueries.EXISTS_BY_EMAIL, nativeQuery = true)
+    boolean existsByEmail(@Param("email") String email);
+
+    @Query(value = UserQueries.EXISTS_BY_EMAIL_AND_ID_NOT, nativeQuery = true)
+    boolean existsByEmailAndIdNot(@Param("email") String email, @Param("id") Long id);
+
+    @Query(value = UserQueries.COUNT_BY_AGE, nativeQuery = true)
+    List<AgeCount> countByAge();
+
+    @Query("""
+            SELECT cast(u.createdAt AS LocalDate) AS day, count(u) AS total
+            FROM User u
+            GROUP BY cast(u.createdAt AS LocalDate)
+            ORDER BY cast(u.createdAt AS LocalDate)""")
+    List<DailySignupCount> countSignupsPerDay();
+
+    @Query(value = UserQueries.COUNT_BY_EMAIL_DOMAIN, nativeQuery = true)
+    List<EmailDomainCount> countByEmailDomain();
 
-    boolean existsByEmailAndIdNot(String email, Long id);
-}
\ No newline at end of file
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "10000"))
+    @Query("SELECT u.age AS age, u.email AS email, u.createdAt AS createdAt FROM User u")
+    Stream<UserStatsRow> streamStatsRows();
+}
@@ -0,0 +1,8 @@
+package ru.astondevs.repository.projection;
+
+public interface AgeCount {
+
+    Integer getAge();
+
+    Long getTotal();
+}
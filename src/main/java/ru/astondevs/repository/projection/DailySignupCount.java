@@ -0,0 +1,10 @@
+package ru.astondevs.repository.projection;
+
+import java.time.LocalDate;
+
+public interface DailySignupCount {
+
+    LocalDate getDay();
+
+    Long getTotal();
+}
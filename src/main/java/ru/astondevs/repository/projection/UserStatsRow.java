@@ -0,0 +1,12 @@
+package ru.astondevs.repository.projection;
+
+import java.time.LocalDateTime;
+
+public interface UserStatsRow {
+
+    Integer getAge();
+
+    String getEmail();
+
+    LocalDateTime getCreatedAt();
+}
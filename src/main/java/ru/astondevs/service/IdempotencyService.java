@@ -0,0 +1,120 @@
+package ru.astondevs.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.FixedDelayTask;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.astondevs.config.IdempotencyProperties;
+import ru.astondevs.entity.IdempotencyKey;
+import ru.astondevs.repository.IdempotencyKeyRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Stores idempotency keys and the responses recorded for them. A claim is
+ * identified by an owner token: only the holder of the current token may
+ * store a response or release the key, so a request whose claim was taken
+ * over cannot touch the new owner's row. Leases of claims held by this
+ * instance are renewed every third of {@code user-service.idempotency.lease}
+ * while their request runs, so only claims of a dead instance expire.
+ */
+@Slf4j
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@Transactional(readOnly = true)
+public class IdempotencyService implements SchedulingConfigurer {
+
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final IdempotencyProperties properties;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<String, UUID> heldClaims = new ConcurrentHashMap<>();
+
+    public IdempotencyService(IdempotencyKeyRepository idempotencyKeyRepository,
+                              IdempotencyProperties properties,
+                              PlatformTransactionManager transactionManager) {
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public Optional<IdempotencyKey> find(String key) {
+        return idempotencyKeyRepository.findById(key);
+    }
+
+    @Transactional
+    public Optional<UUID> claim(String key, byte[] requestHash) {
+        UUID owner = UUID.randomUUID();
+        LocalDateTime now = LocalDateTime.now();
+        if (idempotencyKeyRepository.insertIfAbsent(key, requestHash, owner, now, now.plus(properties.lease())) == 0) {
+            return Optional.empty();
+        }
+        heldClaims.put(key, owner);
+        return Optional.of(owner);
+    }
+
+    /**
+     * Claims an in-progress key whose lease has expired, e.g. because the
+     * instance that held it died before storing a response.
+     */
+    @Transactional
+    public Optional<UUID> takeOver(String key) {
+        UUID owner = UUID.randomUUID();
+        LocalDateTime now = LocalDateTime.now();
+        if (idempotencyKeyRepository.takeOverExpired(key, owner, now, now.plus(properties.lease())) == 0) {
+            return Optional.empty();
+        }
+        heldClaims.put(key, owner);
+        return Optional.of(owner);
+    }
+
+    @Transactional
+    public boolean complete(String key, UUID owner, int statusCode, String contentType, byte[] responseBody) {
+        heldClaims.remove(key, owner);
+        return idempotencyKeyRepository.storeResponse(key, owner, statusCode, contentType, responseBody) > 0;
+    }
+
+    @Transactional
+    public boolean release(String key, UUID owner) {
+        heldClaims.remove(key, owner);
+        return idempotencyKeyRepository.deleteClaim(key, owner) > 0;
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar taskRegistrar) {
+        Duration interval = properties.lease().dividedBy(3);
+        taskRegistrar.addFixedDelayTask(new FixedDelayTask(this::renewHeldClaims, interval, interval));
+    }
+
+    void renewHeldClaims() {
+        heldClaims.forEach((key, owner) -> {
+            try {
+                Integer renewed = transactionTemplate.execute((status) -> idempotencyKeyRepository.renewLease(
+                        key, owner, LocalDateTime.now().plus(properties.lease())));
+                if (renewed == null || renewed == 0) {
+                    heldClaims.remove(key, owner);
+                    log.warn("Lost the claim on idempotency key {}, it was taken over or completed", key);
+                }
+            } catch (RuntimeException ex) {
+                log.warn("Failed to renew the lease of idempotency key {}", key, ex);
+            }
+        });
+    }
+
+    @Transactional
+    @Scheduled(fixedDelayString = "${user-service.idempotency.cleanup-interval:15m}")
+    public void deleteExpiredKeys() {
+        idempotencyKeyRepository.deleteCreatedBefore(LocalDateTime.now().minus(properties.ttl()));
+    }
+}
@@ -0,0 +1,79 @@
+package ru.astondevs.service;
+
+import ru.astondevs.dto.UserStatsResponseDTO;
+import ru.astondevs.dto.UserStatsResponseDTO.AgeBucket;
+import ru.astondevs.dto.UserStatsResponseDTO.DailySignups;
+import ru.astondevs.dto.UserStatsResponseDTO.EmailDomain;
+import ru.astondevs.repository.projection.AgeCount;
+import ru.astondevs.repository.projection.DailySignupCount;
+import ru.astondevs.repository.projection.EmailDomainCount;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Raw counts per age, per signup day and per email domain as returned by
+ * the database. Bucketing and top-N selection are done per request over
+ * these small lists, so one set of queries serves every parameter combination.
+ */
+public final class UserStatsAggregates implements UserStatsSource {
+
+    private final long totalUsers;
+    private final int[] ages;
+    private final long[] ageCounts;
+    private final List<DailySignups> signupsPerDay;
+    private final List<EmailDomain> emailDomains;
+    private final LocalDateTime loadedAt;
+
+    private UserStatsAggregates(long totalUsers, int[] ages, long[] ageCounts,
+                                List<DailySignups> signupsPerDay, List<EmailDomain> emailDomains,
+                                LocalDateTime loadedAt) {
+        this.totalUsers = totalUsers;
+        this.ages = ages;
+        this.ageCounts = ageCounts;
+        this.signupsPerDay = signupsPerDay;
+        this.emailDomains = emailDomains;
+        this.loadedAt = loadedAt;
+    }
+
+    /**
+     * @param ageCounts    counts per age, ordered by age
+     * @param dayCounts    counts per signup day, ordered by day
+     * @param domainCounts counts per email domain, ordered by count descending, then domain
+     */
+    public static UserStatsAggregates of(long totalUsers, List<? extends AgeCount> ageCounts,
+                                         List<? extends DailySignupCount> dayCounts,
+                                         List<? extends EmailDomainCount> domainCounts,
+                                         LocalDateTime loadedAt) {
+        int[] ages = new int[ageCounts.size()];
+        long[] counts = new long[ageCounts.size()];
+        for (int i = 0; i < ages.length; i++) {
+            ages[i] = ageCounts.get(i).getAge();
+            counts[i] = ageCounts.get(i).getTotal();
+        }
+
+        return new UserStatsAggregates(totalUsers, ages, counts,
+                dayCounts.stream().map(row -> new DailySignups(row.getDay(), row.getTotal())).toList(),
+                domainCounts.stream().map(row -> new EmailDomain(row.getDomain(), row.getTotal())).toList(),
+                loadedAt);
+    }
+
+    @Override
+    public UserStatsResponseDTO compute(int ageBucketWidth, int topDomains) {
+        List<AgeBucket> ageHistogram = new ArrayList<>();
+        for (int i = 0; i < ages.length; i++) {
+            int fromAge = Math.floorDiv(ages[i], ageBucketWidth) * ageBucketWidth;
+            int last = ageHistogram.size() - 1;
+            if (last >= 0 && ageHistogram.get(last).fromAge() == fromAge) {
+                AgeBucket bucket = ageHistogram.get(last);
+                ageHistogram.set(last, new AgeBucket(fromAge, bucket.toAge(), bucket.count() + ageCounts[i]));
+            } else {
+                ageHistogram.add(new AgeBucket(fromAge, fromAge + ageBucketWidth - 1, ageCounts[i]));
+            }
+        }
+
+        return new UserStatsResponseDTO(totalUsers, ageHistogram, signupsPerDay,
+                emailDomains.subList(0, Math.min(topDomains, emailDomains.size())), loadedAt);
+    }
+}
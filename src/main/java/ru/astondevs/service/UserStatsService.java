@@ -0,0 +1,115 @@
+package ru.astondevs.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.FixedDelayTask;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.astondevs.config.UserStatsProperties;
+import ru.astondevs.dto.UserStatsResponseDTO;
+import ru.astondevs.repository.UserRepository;
+import ru.astondevs.repository.projection.UserStatsRow;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+/**
+ * Serves user statistics from parameter-independent aggregates (database
+ * mode) or a columnar snapshot (in-memory mode). The source is loaded on
+ * first use and then reloaded in the background every
+ * {@code user-service.stats.refresh-interval}; requests keep using the
+ * previous copy until the new one is swapped in. A zero interval disables
+ * caching and loads on every request.
+ */
+@Slf4j
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class UserStatsService implements SchedulingConfigurer {
+
+    private final UserRepository userRepository;
+    private final UserStatsProperties properties;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Object initialLoadLock = new Object();
+    private volatile UserStatsSource current;
+
+    public UserStatsService(UserRepository userRepository,
+                            UserStatsProperties properties,
+                            PlatformTransactionManager transactionManager) {
+        this.userRepository = userRepository;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    }
+
+    public UserStatsResponseDTO getStats(Integer ageBucketWidth, Integer topDomains) {
+        int width = ageBucketWidth != null ? ageBucketWidth : properties.ageBucketWidth();
+        int top = topDomains != null ? topDomains : properties.topDomains();
+
+        return currentSource().compute(width, top);
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar taskRegistrar) {
+        Duration interval = properties.refreshInterval();
+        if (!interval.isZero()) {
+            taskRegistrar.addFixedDelayTask(new FixedDelayTask(this::refresh, interval, interval));
+        }
+    }
+
+    void refresh() {
+        try {
+            current = load();
+        } catch (RuntimeException ex) {
+            log.warn("Failed to refresh user statistics, keeping the previous copy", ex);
+        }
+    }
+
+    private UserStatsSource currentSource() {
+        if (properties.refreshInterval().isZero()) {
+            return load();
+        }
+
+        UserStatsSource source = current;
+        if (source != null) {
+            return source;
+        }
+
+        synchronized (initialLoadLock) {
+            if (current == null) {
+                current = load();
+            }
+            return current;
+        }
+    }
+
+    private UserStatsSource load() {
+        return properties.mode() == UserStatsProperties.Mode.IN_MEMORY
+                ? loadSnapshot()
+                : loadAggregates();
+    }
+
+    private UserStatsAggregates loadAggregates() {
+        return transactionTemplate.execute(status -> UserStatsAggregates.of(
+                userRepository.count(),
+                userRepository.countByAge(),
+                userRepository.countSignupsPerDay(),
+                userRepository.countByEmailDomain(),
+                LocalDateTime.now()));
+    }
+
+    private UserStatsSnapshot loadSnapshot() {
+        return transactionTemplate.execute(status -> {
+            int expectedSize = (int) Math.min(userRepository.count(), Integer.MAX_VALUE - 8);
+            try (Stream<UserStatsRow> rows = userRepository.streamStatsRows()) {
+                return UserStatsSnapshot.load(rows, expectedSize, LocalDateTime.now());
+            }
+        });
+    }
+}
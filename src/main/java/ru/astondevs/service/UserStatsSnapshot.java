@@ -0,0 +1,195 @@
+package ru.astondevs.service;
+
+import ru.astondevs.dto.UserStatsResponseDTO;
+import ru.astondevs.dto.UserStatsResponseDTO.AgeBucket;
+import ru.astondevs.dto.UserStatsResponseDTO.DailySignups;
+import ru.astondevs.dto.UserStatsResponseDTO.EmailDomain;
+import ru.astondevs.repository.projection.UserStatsRow;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Column-oriented copy of the fields needed for user statistics.
+ * Every user is stored as three primitive ints, so aggregations run
+ * over flat arrays in parallel chunks without touching the database.
+ */
+public final class UserStatsSnapshot implements UserStatsSource {
+
+    private static final int CHUNK_SIZE = 1 << 16;
+    private static final int NO_AGE = Integer.MIN_VALUE;
+
+    private final int size;
+    private final int[] ages;
+    private final int[] signupDays;
+    private final int[] domainIds;
+    private final String[] domains;
+    private final int minAge;
+    private final int maxAge;
+    private final int minDay;
+    private final int maxDay;
+    private final LocalDateTime loadedAt;
+
+    private UserStatsSnapshot(int size, int[] ages, int[] signupDays, int[] domainIds,
+                              String[] domains, LocalDateTime loadedAt) {
+        this.size = size;
+        this.ages = ages;
+        this.signupDays = signupDays;
+        this.domainIds = domainIds;
+        this.domains = domains;
+        this.loadedAt = loadedAt;
+
+        int lowAge = Integer.MAX_VALUE;
+        int highAge = Integer.MIN_VALUE;
+        int lowDay = Integer.MAX_VALUE;
+        int highDay = Integer.MIN_VALUE;
+        for (int i = 0; i < size; i++) {
+            if (ages[i] != NO_AGE) {
+                lowAge = Math.min(lowAge, ages[i]);
+                highAge = Math.max(highAge, ages[i]);
+            }
+            lowDay = Math.min(lowDay, signupDays[i]);
+            highDay = Math.max(highDay, signupDays[i]);
+        }
+        this.minAge = lowAge;
+        this.maxAge = highAge;
+        this.minDay = lowDay;
+        this.maxDay = highDay;
+    }
+
+    public static UserStatsSnapshot load(Stream<UserStatsRow> rows, int expectedSize,
+                                         LocalDateTime loadedAt) {
+        int capacity = Math.max(expectedSize, 16);
+        int[] ages = new int[capacity];
+        int[] signupDays = new int[capacity];
+        int[] domainIds = new int[capacity];
+        Map<String, Integer> domainIndex = new HashMap<>();
+        List<String> domains = new ArrayList<>();
+
+        int size = 0;
+        for (UserStatsRow row : (Iterable<UserStatsRow>) rows::iterator) {
+            if (size == ages.length) {
+                capacity = ages.length + (ages.length >> 1);
+                ages = Arrays.copyOf(ages, capacity);
+                signupDays = Arrays.copyOf(signupDays, capacity);
+                domainIds = Arrays.copyOf(domainIds, capacity);
+            }
+
+            ages[size] = row.getAge() != null ? row.getAge() : NO_AGE;
+            signupDays[size] = (int) row.getCreatedAt().toLocalDate().toEpochDay();
+            domainIds[size] = domainIndex.computeIfAbsent(domainOf(row.getEmail()), domain -> {
+                domains.add(domain);
+                return domains.size() - 1;
+            });
+            size++;
+        }
+
+        return new UserStatsSnapshot(size, ages, signupDays, domainIds,
+                domains.toArray(String[]::new), loadedAt);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public LocalDateTime loadedAt() {
+        return loadedAt;
+    }
+
+    @Override
+    public UserStatsResponseDTO compute(int ageBucketWidth, int topDomains) {
+        if (size == 0) {
+            return new UserStatsResponseDTO(0, List.of(), List.of(), List.of(), loadedAt);
+        }
+
+        int minBucket = maxAge == Integer.MIN_VALUE ? 0 : Math.floorDiv(minAge, ageBucketWidth);
+        int bucketCount = maxAge == Integer.MIN_VALUE
+                ? 0
+                : Math.floorDiv(maxAge, ageBucketWidth) - minBucket + 1;
+        int chunks = (size + CHUNK_SIZE - 1) / CHUNK_SIZE;
+
+        Counters counters = IntStream.range(0, chunks)
+                .parallel()
+                .mapToObj(chunk -> count(chunk * CHUNK_SIZE,
+                        Math.min(size, (chunk + 1) * CHUNK_SIZE),
+                        ageBucketWidth, minBucket, bucketCount))
+                .reduce(Counters::merge)
+                .orElseThrow();
+
+        List<AgeBucket> ageHistogram = new ArrayList<>();
+        for (int i = 0; i < bucketCount; i++) {
+            if (counters.ages[i] > 0) {
+                int fromAge = (minBucket + i) * ageBucketWidth;
+                ageHistogram.add(new AgeBucket(fromAge, fromAge + ageBucketWidth - 1, counters.ages[i]));
+            }
+        }
+
+        List<DailySignups> signupsPerDay = new ArrayList<>();
+        for (int i = 0; i < counters.days.length; i++) {
+            if (counters.days[i] > 0) {
+                signupsPerDay.add(new DailySignups(LocalDate.ofEpochDay(minDay + i), counters.days[i]));
+            }
+        }
+
+        long[] domainCounts = counters.domains;
+        List<EmailDomain> emailDomains = IntStream.range(0, domains.length)
+                .boxed()
+                .sorted(Comparator.<Integer>comparingLong(i -> domainCounts[i]).reversed()
+                        .thenComparing(i -> domains[i]))
+                .limit(topDomains)
+                .map(i -> new EmailDomain(domains[i], domainCounts[i]))
+                .toList();
+
+        return new UserStatsResponseDTO(size, ageHistogram, signupsPerDay, emailDomains, loadedAt);
+    }
+
+    private Counters count(int from, int to, int ageBucketWidth, int minBucket, int bucketCount) {
+        long[] ageCounts = new long[bucketCount];
+        long[] dayCounts = new long[maxDay - minDay + 1];
+        long[] domainCounts = new long[domains.length];
+
+        for (int i = from; i < to; i++) {
+            if (ages[i] != NO_AGE) {
+                ageCounts[Math.floorDiv(ages[i], ageBucketWidth) - minBucket]++;
+            }
+            dayCounts[signupDays[i] - minDay]++;
+            domainCounts[domainIds[i]]++;
+        }
+
+        return new Counters(ageCounts, dayCounts, domainCounts);
+    }
+
+    static String domainOf(String email) {
+        int at = email.indexOf('@');
+        if (at < 0) {
+            return "";
+        }
+        int end = email.indexOf('@', at + 1);
+        return email.substring(at + 1, end < 0 ? email.length() : end).toLowerCase(Locale.ROOT);
+    }
+
+    private record Counters(long[] ages, long[] days, long[] domains) {
+
+        Counters merge(Counters other) {
+            add(ages, other.ages);
+            add(days, other.days);
+            add(domains, other.domains);
+            return this;
+        }
+
+        private static void add(long[] target, long[] source) {
+            for (int i = 0; i < target.length; i++) {
+                target[i] += source[i];
+            }
+        }
+    }
+}
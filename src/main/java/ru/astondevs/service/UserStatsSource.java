@@ -0,0 +1,12 @@
+package ru.astondevs.service;
+
+import ru.astondevs.dto.UserStatsResponseDTO;
+
+/**
+ * Parameter-independent user statistics loaded at one point in time, from
+ * which responses for any bucket width and top-N size are derived.
+ */
+public interface UserStatsSource {
+
+    UserStatsResponseDTO compute(int ageBucketWidth, int topDomains);
+}
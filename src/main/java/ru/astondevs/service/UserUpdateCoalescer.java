@@ -0,0 +1,168 @@
+package ru.astondevs.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Service;
+import ru.astondevs.config.UpdateCoalescingProperties;
+import ru.astondevs.dto.UpdateUserRequestDTO;
+import ru.astondevs.dto.UserResponseDTO;
+import ru.astondevs.exception.UserAlreadyExistsException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Merges concurrent updates of the same user into a single
+ * {@link UserService#updateUser} call when
+ * {@code user-service.update-coalescing.enabled} is set.
+ * <p>
+ * The first update for an id opens a batch and waits for the configured
+ * window; updates arriving meanwhile join it. The batch is then merged
+ * field by field, later non-null values winning, and flushed as one
+ * transaction whose result is returned to every caller. If the merged
+ * update fails on an email conflict, the batch falls back to applying
+ * each update on its own so only the offending caller gets the error.
+ * <p>
+ * Flushes of the same id never overlap: a batch whose window ends while
+ * the previous batch is still flushing stays open until that flush has
+ * finished, so an older batch cannot overwrite fields set by a newer one.
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequiredArgsConstructor
+public class UserUpdateCoalescer {
+
+    private final UserService userService;
+    private final UpdateCoalescingProperties properties;
+
+    private final Map<Long, Batch> batches = new ConcurrentHashMap<>();
+    private final Map<Long, CompletableFuture<Void>> flushes = new ConcurrentHashMap<>();
+
+    public UserResponseDTO updateUser(Long id, UpdateUserRequestDTO updateUserRequestDTO) {
+        if (!properties.enabled()) {
+            return userService.updateUser(id, updateUserRequestDTO);
+        }
+
+        while (true) {
+            Batch batch = new Batch();
+            Batch open = batches.putIfAbsent(id, batch);
+            if (open == null) {
+                CompletableFuture<UserResponseDTO> result = batch.add(updateUserRequestDTO);
+                awaitWindow();
+                flushInOrder(id, batch);
+                return join(result);
+            }
+
+            CompletableFuture<UserResponseDTO> result = open.add(updateUserRequestDTO);
+            if (result != null) {
+                return join(result);
+            }
+        }
+    }
+
+    private void flushInOrder(Long id, Batch batch) {
+        CompletableFuture<Void> flushed = new CompletableFuture<>();
+        CompletableFuture<Void> previous = flushes.put(id, flushed);
+        try {
+            if (previous != null) {
+                previous.join();
+            }
+            batches.remove(id, batch);
+            flush(id, batch.close());
+        } finally {
+            flushes.remove(id, flushed);
+            flushed.complete(null);
+        }
+    }
+
+    private void flush(Long id, List<PendingUpdate> updates) {
+        try {
+            UserResponseDTO updatedUser = userService.updateUser(id, merge(updates));
+            updates.forEach((update) -> update.result().complete(updatedUser));
+        } catch (UserAlreadyExistsException ex) {
+            if (updates.size() == 1) {
+                updates.get(0).result().completeExceptionally(ex);
+            } else {
+                flushSeparately(id, updates);
+            }
+        } catch (RuntimeException ex) {
+            updates.forEach((update) -> update.result().completeExceptionally(ex));
+        }
+    }
+
+    private void flushSeparately(Long id, List<PendingUpdate> updates) {
+        for (PendingUpdate update : updates) {
+            try {
+                update.result().complete(userService.updateUser(id, update.request()));
+            } catch (RuntimeException ex) {
+                update.result().completeExceptionally(ex);
+            }
+        }
+    }
+
+    private static UpdateUserRequestDTO merge(List<PendingUpdate> updates) {
+        String name = null;
+        String email = null;
+        Integer age = null;
+        for (PendingUpdate update : updates) {
+            UpdateUserRequestDTO request = update.request();
+            if (request.name() != null) {
+                name = request.name();
+            }
+            if (request.email() != null) {
+                email = request.email();
+            }
+            if (request.age() != null) {
+                age = request.age();
+            }
+        }
+        return new UpdateUserRequestDTO(name, email, age);
+    }
+
+    private void awaitWindow() {
+        try {
+            TimeUnit.NANOSECONDS.sleep(properties.window().toNanos());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static UserResponseDTO join(CompletableFuture<UserResponseDTO> result) {
+        try {
+            return result.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    private record PendingUpdate(UpdateUserRequestDTO request, CompletableFuture<UserResponseDTO> result) {
+    }
+
+    private static final class Batch {
+
+        private final List<PendingUpdate> updates = new ArrayList<>();
+        private boolean closed;
+
+        synchronized CompletableFuture<UserResponseDTO> add(UpdateUserRequestDTO request) {
+            if (closed) {
+                return null;
+            }
+            CompletableFuture<UserResponseDTO> result = new CompletableFuture<>();
+            updates.add(new PendingUpdate(request, result));
+            return result;
+        }
+
+        synchronized List<PendingUpdate> close() {
+            closed = true;
+            return updates;
+        }
+    }
+}
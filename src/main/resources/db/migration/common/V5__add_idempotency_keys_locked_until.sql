@@ -0,0 +1,4 @@
+-- Lease on an in-progress key. A claim whose owner died before storing a
+-- response can be taken over by a retry once the lease has expired.
+ALTER TABLE idempotency_keys
+    ADD COLUMN locked_until TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP;
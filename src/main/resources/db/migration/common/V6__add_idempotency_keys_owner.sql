@@ -0,0 +1,5 @@
+-- Token of the request currently holding the claim. Responses and releases
+-- only apply while the token still matches, so an owner whose lease was
+-- taken over cannot overwrite or delete the new owner's row.
+ALTER TABLE idempotency_keys
+    ADD COLUMN owner UUID;
@@ -0,0 +1,23 @@
+CREATE SEQUENCE users_id_seq AS BIGINT;
+
+CREATE TABLE users (
+    id BIGINT NOT NULL DEFAULT nextval('users_id_seq'),
+    name VARCHAR(25) NOT NULL,
+    email VARCHAR(50) NOT NULL,
+    age INTEGER,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (id)
+) PARTITION BY HASH (id);
+
+ALTER SEQUENCE users_id_seq OWNED BY users.id;
+
+DO $$
+BEGIN
+    FOR i IN 0..15 LOOP
+        EXECUTE format(
+            'CREATE TABLE users_p%s PARTITION OF users FOR VALUES WITH (MODULUS 16, REMAINDER %s)',
+            i, i);
+    END LOOP;
+END
+$$;
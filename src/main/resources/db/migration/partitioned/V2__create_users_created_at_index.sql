@@ -0,0 +1,3 @@
+-- CONCURRENTLY is not supported on partitioned tables. The table is still
+-- empty at this point, so a plain build takes no time.
+CREATE INDEX IF NOT EXISTS idx_users_created_at ON users (created_at);
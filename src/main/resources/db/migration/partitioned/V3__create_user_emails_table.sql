@@ -0,0 +1,54 @@
+-- Refuse to run against an unpartitioned users table, e.g. one created by
+-- the old schema.sql and baselined instead of migrated from V1.
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_partitioned_table WHERE partrelid = 'users'::regclass) THEN
+        RAISE EXCEPTION 'users is not partitioned, the partitioned layout needs a database migrated from V1';
+    END IF;
+END
+$$;
+
+-- A unique index on a partitioned table must contain the partition key, so
+-- users(email) cannot be unique across partitions. user_emails is
+-- partitioned by email instead and its primary key enforces global
+-- uniqueness; triggers on users keep it in sync.
+CREATE TABLE user_emails (
+    email VARCHAR(50) NOT NULL,
+    user_id BIGINT NOT NULL,
+    PRIMARY KEY (email)
+) PARTITION BY HASH (email);
+
+DO $$
+BEGIN
+    FOR i IN 0..15 LOOP
+        EXECUTE format(
+            'CREATE TABLE user_emails_p%s PARTITION OF user_emails FOR VALUES WITH (MODULUS 16, REMAINDER %s)',
+            i, i);
+    END LOOP;
+END
+$$;
+
+INSERT INTO user_emails (email, user_id)
+SELECT email, id FROM users;
+
+CREATE FUNCTION sync_user_emails() RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        INSERT INTO user_emails (email, user_id) VALUES (NEW.email, NEW.id);
+    ELSIF TG_OP = 'UPDATE' THEN
+        UPDATE user_emails SET email = NEW.email WHERE email = OLD.email;
+    ELSE
+        DELETE FROM user_emails WHERE email = OLD.email;
+    END IF;
+    RETURN NULL;
+END
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER users_sync_user_emails
+    AFTER INSERT OR DELETE ON users
+    FOR EACH ROW EXECUTE FUNCTION sync_user_emails();
+
+CREATE TRIGGER users_sync_user_emails_on_update
+    AFTER UPDATE OF email ON users
+    FOR EACH ROW WHEN (OLD.email IS DISTINCT FROM NEW.email)
+    EXECUTE FUNCTION sync_user_emails();
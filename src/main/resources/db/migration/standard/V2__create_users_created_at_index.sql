@@ -0,0 +1,9 @@
+-- CONCURRENTLY keeps the table writable while the index builds. Flyway runs
+-- this migration outside a transaction because of it, so the migration must
+-- contain only non-transactional statements.
+--
+-- A failed concurrent build leaves an INVALID index behind that IF NOT EXISTS
+-- would silently keep after a repair and rerun, so any leftover is dropped
+-- and the index is always built from scratch.
+DROP INDEX CONCURRENTLY IF EXISTS idx_users_created_at;
+CREATE INDEX CONCURRENTLY idx_users_created_at ON users (created_at);
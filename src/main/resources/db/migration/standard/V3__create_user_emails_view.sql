@@ -0,0 +1,5 @@
+-- Same shape as the partitioned layout's user_emails table, so email lookups
+-- are written once and served by the unique index on users.email here.
+CREATE VIEW user_emails AS
+SELECT email, id AS user_id
+FROM users;
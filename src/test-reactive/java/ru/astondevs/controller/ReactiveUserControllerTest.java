@@ -0,0 +1,159 @@
+package ru.astondevs.controller;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import ru.astondevs.dto.CreateUserRequestDTO;
+import ru.astondevs.dto.UpdateUserRequestDTO;
+import ru.astondevs.entity.ReactiveUser;
+import ru.astondevs.repository.ReactiveUserRepository;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.webflux.base-path=")
+@AutoConfigureWebTestClient
+@ActiveProfiles("reactive")
+@Testcontainers
+class ReactiveUserControllerTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.r2dbc.url", () -> String.format("r2dbc:postgresql://%s:%d/%s",
+                postgres.getHost(), postgres.getMappedPort(PostgreSQLContainer.POSTGRESQL_PORT),
+                postgres.getDatabaseName()));
+        registry.add("spring.r2dbc.username", postgres::getUsername);
+        registry.add("spring.r2dbc.password", postgres::getPassword);
+        registry.add("user-service.stats.refresh-interval", () -> "0s");
+    }
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private ReactiveUserRepository userRepository;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll().block();
+    }
+
+    @Test
+    void createUser_ShouldCreateAndReturnUser_WhenValidRequest() {
+        // Given
+        CreateUserRequestDTO createUserRequestDTO = new CreateUserRequestDTO(
+                "John Doe", "john@example.com", 30);
+
+        // When & Then
+        webTestClient.post().uri("/api/v1/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(createUserRequestDTO)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody()
+                .jsonPath("$.userId").isNumber()
+                .jsonPath("$.name").isEqualTo(createUserRequestDTO.name())
+                .jsonPath("$.email").isEqualTo(createUserRequestDTO.email())
+                .jsonPath("$.age").isEqualTo(createUserRequestDTO.age())
+                .jsonPath("$.createdAt").isNotEmpty();
+
+        // Verify in database
+        assertThat(userRepository.count().block()).isEqualTo(1);
+    }
+
+    @Test
+    void createUser_ShouldReturnBadRequest_WhenMissingRequiredFields() {
+        // Given
+        CreateUserRequestDTO request = new CreateUserRequestDTO(
+                null, null, -1);
+
+        // When & Then
+        webTestClient.post().uri("/api/v1/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.name").isEqualTo("Name must not be blank")
+                .jsonPath("$.email").isEqualTo("Email must not be blank")
+                .jsonPath("$.age").isEqualTo("Age must be positive or zero");
+    }
+
+    @Test
+    void updateUser_ShouldReturnConflict_WhenEmailTaken() {
+        // Given
+        ReactiveUser first = saveUser("First", "first@example.com");
+        saveUser("Second", "second@example.com");
+
+        UpdateUserRequestDTO updateUserRequestDTO = new UpdateUserRequestDTO(
+                null, "second@example.com", null);
+
+        // When & Then
+        webTestClient.put().uri("/api/v1/users/{id}", first.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(updateUserRequestDTO)
+                .exchange()
+                .expectStatus().isEqualTo(409)
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("User with email second@example.com already exists");
+    }
+
+    @Test
+    void getUserById_ShouldReturnNotFound_WhenNotExists() {
+        // Given
+        long nonExistentId = 999L;
+        String errorMessage = String.format("User with id %d not found", nonExistentId);
+
+        // When & Then
+        webTestClient.get().uri("/api/v1/users/{id}", nonExistentId)
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.status").isEqualTo(404)
+                .jsonPath("$.message").isEqualTo(errorMessage);
+    }
+
+    @Test
+    void getUserStats_ShouldReturnAggregatedStats() {
+        // Given
+        saveUser("User 1", "user1@example.com");
+        saveUser("User 2", "user2@test.org");
+
+        // When & Then
+        webTestClient.get().uri("/api/v1/users/stats")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.totalUsers").isEqualTo(2)
+                .jsonPath("$.ageHistogram[0].fromAge").isEqualTo(30)
+                .jsonPath("$.ageHistogram[0].count").isEqualTo(2)
+                .jsonPath("$.signupsPerDay[0].count").isEqualTo(2)
+                .jsonPath("$.topEmailDomains[0].domain").isEqualTo("example.com");
+    }
+
+    private ReactiveUser saveUser(String name, String email) {
+        LocalDateTime now = LocalDateTime.now();
+        return userRepository.save(new ReactiveUser(null, name, email, 30, now, now)).block();
+    }
+}
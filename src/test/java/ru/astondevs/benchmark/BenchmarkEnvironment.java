@@ -0,0 +1,104 @@
+package ru.astondevs.benchmark;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import ru.astondevs.UserServiceApplication;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Postgres container plus a running application context for benchmarks.
+ */
+final class BenchmarkEnvironment implements AutoCloseable {
+
+    static final List<String> QUIET_LOGGING = List.of(
+            "logging.level.ru.astondevs=INFO",
+            "logging.level.org.springframework.web=INFO",
+            "logging.level.org.hibernate.SQL=INFO",
+            "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=INFO",
+            "spring.jpa.show-sql=false");
+
+    private static final String SEED_USERS_SQL = """
+            INSERT INTO users (name, email, age, created_at, updated_at)
+            SELECT 'user ' || g,
+                   'user' || g || '@domain' || (g % 50) || '.com',
+                   g % 90,
+                   now() - (g % 365) * interval '1 day',
+                   now()
+            FROM generate_series(1, ?) AS g""";
+
+    private final PostgreSQLContainer<?> postgres;
+    private final ConfigurableApplicationContext context;
+
+    private BenchmarkEnvironment(PostgreSQLContainer<?> postgres, ConfigurableApplicationContext context) {
+        this.postgres = postgres;
+        this.context = context;
+    }
+
+    static BenchmarkEnvironment startQuiet(String... properties) {
+        List<String> allProperties = new ArrayList<>(QUIET_LOGGING);
+        allProperties.addAll(List.of(properties));
+        return start(allProperties.toArray(String[]::new));
+    }
+
+    static BenchmarkEnvironment start(String... properties) {
+        PostgreSQLContainer<?> postgres = startPostgres();
+        return new BenchmarkEnvironment(postgres, run(postgres, properties));
+    }
+
+    static PostgreSQLContainer<?> startPostgres() {
+        PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16")
+                .withDatabaseName("benchdb")
+                .withUsername("bench")
+                .withPassword("bench");
+        postgres.start();
+        return postgres;
+    }
+
+    static ConfigurableApplicationContext run(PostgreSQLContainer<?> postgres, String... properties) {
+        List<String> allProperties = new ArrayList<>(List.of(
+                "spring.datasource.url=" + postgres.getJdbcUrl(),
+                "spring.datasource.username=" + postgres.getUsername(),
+                "spring.datasource.password=" + postgres.getPassword(),
+                "server.port=0"));
+        allProperties.addAll(List.of(properties));
+
+        return new SpringApplicationBuilder(UserServiceApplication.class)
+                .properties(allProperties.toArray(String[]::new))
+                .run();
+    }
+
+    <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    String baseUrl() {
+        return "http://localhost:" + context.getEnvironment().getProperty("local.server.port")
+                + context.getEnvironment().getProperty("server.servlet.context-path", "")
+                + "/api/v1/users";
+    }
+
+    void seedUsers(int count) {
+        context.getBean(JdbcTemplate.class).update(SEED_USERS_SQL, count);
+    }
+
+    static void seedUsers(PostgreSQLContainer<?> postgres, int count) throws SQLException {
+        try (Connection connection = postgres.createConnection("");
+             PreparedStatement statement = connection.prepareStatement(SEED_USERS_SQL)) {
+            statement.setInt(1, count);
+            statement.executeUpdate();
+        }
+    }
+
+    @Override
+    public void close() {
+        context.close();
+        postgres.stop();
+    }
+}
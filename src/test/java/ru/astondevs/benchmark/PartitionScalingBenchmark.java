@@ -0,0 +1,125 @@
+package ru.astondevs.benchmark;
+
+import org.flywaydb.core.Flyway;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Data-size scaling of the standard and hash-partitioned users layouts,
+ * using the statements UserRepository issues for by-id reads, email
+ * uniqueness checks and inserts.
+ * <p>
+ * Run with {@code mvn -P benchmark test-compile exec:exec -Dbenchmark.args=PartitionScalingBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(8)
+@Fork(1)
+public class PartitionScalingBenchmark {
+
+    @Param({"standard", "partitioned"})
+    public String layout;
+
+    @Param({"100000", "1000000", "5000000"})
+    public int users;
+
+    private PostgreSQLContainer<?> postgres;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        postgres = BenchmarkEnvironment.startPostgres();
+        Flyway.configure()
+                .dataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())
+                .locations("classpath:db/migration/" + layout)
+                .configuration(Map.of("flyway.postgresql.transactional.lock", "false"))
+                .load()
+                .migrate();
+        BenchmarkEnvironment.seedUsers(postgres, users);
+
+        try (Connection connection = postgres.createConnection("");
+             Statement statement = connection.createStatement()) {
+            statement.execute("VACUUM ANALYZE");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        postgres.stop();
+    }
+
+    @State(Scope.Thread)
+    public static class Session {
+
+        private Connection connection;
+        private PreparedStatement findById;
+        private PreparedStatement existsByEmail;
+        private PreparedStatement insert;
+        private int users;
+
+        @Setup(Level.Trial)
+        public void setUp(PartitionScalingBenchmark benchmark) throws SQLException {
+            users = benchmark.users;
+            connection = benchmark.postgres.createConnection("");
+            findById = connection.prepareStatement("SELECT * FROM users WHERE id = ?");
+            existsByEmail = connection.prepareStatement(
+                    "SELECT EXISTS (SELECT 1 FROM user_emails WHERE email = ?)");
+            insert = connection.prepareStatement(
+                    "INSERT INTO users (name, email, age) VALUES ('bench', ?, 30)");
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws SQLException {
+            connection.close();
+        }
+    }
+
+    @Benchmark
+    public boolean findById(Session session) throws SQLException {
+        session.findById.setLong(1, ThreadLocalRandom.current().nextLong(1, session.users + 1));
+        try (ResultSet resultSet = session.findById.executeQuery()) {
+            return resultSet.next();
+        }
+    }
+
+    @Benchmark
+    public boolean existsByEmail(Session session) throws SQLException {
+        int user = ThreadLocalRandom.current().nextInt(1, session.users + 1);
+        session.existsByEmail.setString(1, "user" + user + "@domain" + (user % 50) + ".com");
+        try (ResultSet resultSet = session.existsByEmail.executeQuery()) {
+            resultSet.next();
+            return resultSet.getBoolean(1);
+        }
+    }
+
+    @Benchmark
+    public int insert(Session session) throws SQLException {
+        session.insert.setString(1, UUID.randomUUID() + "@bench.com");
+        return session.insert.executeUpdate();
+    }
+}
@@ -0,0 +1,75 @@
+package ru.astondevs.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cold start of the application context with Flyway migrations and
+ * Hibernate validation, compared with the former schema.sql plus
+ * {@code ddl-auto: update} startup. Each fork measures one start against an
+ * already initialized database, as on a regular restart.
+ * <p>
+ * Run with {@code mvn -P benchmark test-compile exec:exec -Dbenchmark.args=SchemaStartupBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(10)
+public class SchemaStartupBenchmark {
+
+    @Param({"migrations", "ddl-update"})
+    public String schema;
+
+    private PostgreSQLContainer<?> postgres;
+    private ConfigurableApplicationContext context;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        postgres = BenchmarkEnvironment.startPostgres();
+        BenchmarkEnvironment.run(postgres, properties()).close();
+    }
+
+    @TearDown(Level.Invocation)
+    public void closeContext() {
+        context.close();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        postgres.stop();
+    }
+
+    @Benchmark
+    public void startup() {
+        context = BenchmarkEnvironment.run(postgres, properties());
+    }
+
+    private String[] properties() {
+        if ("migrations".equals(schema)) {
+            return new String[0];
+        }
+        return new String[]{
+                "spring.flyway.enabled=false",
+                "spring.jpa.hibernate.ddl-auto=update",
+                "spring.sql.init.mode=always",
+                "spring.sql.init.schema-locations=classpath:benchmark/legacy-schema.sql"
+        };
+    }
+}
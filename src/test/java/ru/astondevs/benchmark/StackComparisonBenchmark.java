@@ -0,0 +1,175 @@
+package ru.astondevs.benchmark;
+
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Side-by-side load comparison of the servlet + JPA stack and the
+ * {@code reactive} WebFlux + R2DBC stack. Each stack runs as its own JVM;
+ * for every concurrency level the harness keeps that many requests in
+ * flight (one connection each) and reports throughput, resident memory
+ * growth per connection and the thread count of the server process.
+ * Memory figures come from {@code /proc}, so the harness needs Linux.
+ * <p>
+ * Build with {@code mvn -P reactive package} so the jar contains both stacks, then run
+ * {@code mvn -P benchmark test-compile exec:exec -Dbenchmark.main=ru.astondevs.benchmark.StackComparisonBenchmark -Dbenchmark.args=100,1000,4000}.
+ */
+public class StackComparisonBenchmark {
+
+    private static final int USERS = 10_000;
+    private static final int POOL_SIZE = 50;
+    private static final Duration WARMUP = Duration.ofSeconds(20);
+    private static final Duration MEASUREMENT = Duration.ofSeconds(30);
+    private static final List<String> JVM_ARGS = List.of("-Xms512m", "-Xmx512m");
+    private static final Path LOGS = Path.of("target", "benchmark-logs");
+
+    public static void main(String[] args) throws Exception {
+        int[] concurrencyLevels = Arrays.stream((args.length > 0 ? args[0] : "100,1000,4000").split(","))
+                .mapToInt(Integer::parseInt)
+                .toArray();
+        Path jar = findJar();
+        HttpClient httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(30))
+                .build();
+
+        try (PostgreSQLContainer<?> postgres = BenchmarkEnvironment.startPostgres()) {
+            try (ApplicationProcess app = ApplicationProcess.start(jar, JVM_ARGS, postgres,
+                    LOGS.resolve("stack-seed.log"), servletProperties())) {
+                app.awaitOk(httpClient, "/stats", System.nanoTime());
+                BenchmarkEnvironment.seedUsers(postgres, USERS);
+            }
+
+            List<String> rows = new ArrayList<>();
+            for (String stack : List.of("servlet", "reactive")) {
+                String[] properties = "servlet".equals(stack)
+                        ? servletProperties()
+                        : reactiveProperties(postgres);
+                for (int concurrency : concurrencyLevels) {
+                    try (ApplicationProcess app = ApplicationProcess.start(jar, JVM_ARGS, postgres,
+                            LOGS.resolve("stack-" + stack + "-" + concurrency + ".log"), properties)) {
+                        app.awaitOk(httpClient, "/1", System.nanoTime());
+                        drive(httpClient, app, concurrency, WARMUP);
+                        ProcessStatus idle = ProcessStatus.read(app.pid());
+                        LoadResult result = drive(httpClient, app, concurrency, MEASUREMENT);
+                        rows.add(String.format("%-8s %11d %12.0f %10d %10d %12.1f %8d %8d",
+                                stack, concurrency, result.throughput(),
+                                idle.rssKb() / 1024, result.peak().rssKb() / 1024,
+                                (double) Math.max(0, result.peak().rssKb() - idle.rssKb()) / concurrency,
+                                result.peak().threads(), result.failed()));
+                    }
+                }
+            }
+
+            System.out.printf("%-8s %11s %12s %10s %10s %12s %8s %8s%n", "stack", "concurrency",
+                    "req/s", "idle MB", "peak MB", "KB/conn", "threads", "errors");
+            rows.forEach(System.out::println);
+        }
+    }
+
+    private static LoadResult drive(HttpClient httpClient, ApplicationProcess app,
+                                    int concurrency, Duration duration) throws Exception {
+        AtomicLong succeeded = new AtomicLong();
+        AtomicLong failed = new AtomicLong();
+        CountDownLatch finished = new CountDownLatch(concurrency);
+        long start = System.nanoTime();
+        long deadline = start + duration.toNanos();
+
+        for (int i = 0; i < concurrency; i++) {
+            sendNext(httpClient, app.baseUrl(), deadline, succeeded, failed, finished);
+        }
+
+        ProcessStatus peak = ProcessStatus.read(app.pid());
+        while (!finished.await(200, TimeUnit.MILLISECONDS)) {
+            peak = peak.max(ProcessStatus.read(app.pid()));
+        }
+
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        return new LoadResult(succeeded.get() / seconds, failed.get(), peak);
+    }
+
+    private static void sendNext(HttpClient httpClient, String baseUrl, long deadline,
+                                 AtomicLong succeeded, AtomicLong failed, CountDownLatch finished) {
+        if (System.nanoTime() - deadline >= 0) {
+            finished.countDown();
+            return;
+        }
+
+        long userId = ThreadLocalRandom.current().nextLong(1, USERS + 1);
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/" + userId))
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+        httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, ex) -> {
+                    if (ex == null && response.statusCode() == 200) {
+                        succeeded.incrementAndGet();
+                    } else {
+                        failed.incrementAndGet();
+                    }
+                    sendNext(httpClient, baseUrl, deadline, succeeded, failed, finished);
+                });
+    }
+
+    private static String[] servletProperties() {
+        List<String> properties = new ArrayList<>(BenchmarkEnvironment.QUIET_LOGGING);
+        properties.add("spring.datasource.hikari.maximum-pool-size=" + POOL_SIZE);
+        return properties.toArray(String[]::new);
+    }
+
+    private static String[] reactiveProperties(PostgreSQLContainer<?> postgres) {
+        List<String> properties = new ArrayList<>(BenchmarkEnvironment.QUIET_LOGGING);
+        properties.add("spring.profiles.active=reactive");
+        properties.add(String.format("spring.r2dbc.url=r2dbc:postgresql://%s:%d/%s", postgres.getHost(),
+                postgres.getMappedPort(PostgreSQLContainer.POSTGRESQL_PORT), postgres.getDatabaseName()));
+        properties.add("spring.r2dbc.username=" + postgres.getUsername());
+        properties.add("spring.r2dbc.password=" + postgres.getPassword());
+        properties.add("spring.r2dbc.pool.max-size=" + POOL_SIZE);
+        return properties.toArray(String[]::new);
+    }
+
+    private static Path findJar() throws IOException {
+        try (var files = Files.list(Path.of("target"))) {
+            return files.filter(file -> file.getFileName().toString().endsWith(".jar"))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalStateException("No jar in target, run 'mvn package' first"));
+        }
+    }
+
+    private record LoadResult(double throughput, long failed, ProcessStatus peak) {
+    }
+
+    private record ProcessStatus(long rssKb, int threads) {
+
+        static ProcessStatus read(long pid) throws IOException {
+            long rssKb = 0;
+            int threads = 0;
+            for (String line : Files.readAllLines(Path.of("/proc", String.valueOf(pid), "status"))) {
+                if (line.startsWith("VmRSS:")) {
+                    rssKb = Long.parseLong(line.replaceAll("\\D", ""));
+                } else if (line.startsWith("Threads:")) {
+                    threads = Integer.parseInt(line.replaceAll("\\D", ""));
+                }
+            }
+            return new ProcessStatus(rssKb, threads);
+        }
+
+        ProcessStatus max(ProcessStatus other) {
+            return new ProcessStatus(Math.max(rssKb, other.rssKb), Math.max(threads, other.threads));
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package ru.astondevs.benchmark;
+
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Time from process launch to the first successful {@code GET /api/v1/users/{id}}
+ * for the plain jar and for the AOT + CDS build of the {@code fast-startup} profile.
+ * <p>
+ * Build with {@code mvn -P fast-startup package}, then run
+ * {@code mvn -P benchmark test-compile exec:exec -Dbenchmark.main=ru.astondevs.benchmark.StartupBenchmark -Dbenchmark.args=10}.
+ */
+public class StartupBenchmark {
+
+    private static final Path TARGET = Path.of("target");
+    private static final Path EXTRACTED = TARGET.resolve("extracted");
+    private static final Path LOGS = TARGET.resolve("benchmark-logs");
+
+    public static void main(String[] args) throws Exception {
+        int runs = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+        Path jar = findJar(TARGET);
+        HttpClient httpClient = HttpClient.newHttpClient();
+
+        try (PostgreSQLContainer<?> postgres = BenchmarkEnvironment.startPostgres()) {
+            try (ApplicationProcess app = ApplicationProcess.start(jar, List.of(), postgres,
+                    LOGS.resolve("startup-seed.log"))) {
+                seedUser(httpClient, app);
+            }
+
+            report("default", measure(runs, httpClient, postgres, jar, List.of()));
+
+            Path archive = EXTRACTED.resolve("application.jsa");
+            if (Files.exists(archive)) {
+                report("aot+cds", measure(runs, httpClient, postgres, findJar(EXTRACTED), List.of(
+                        "-XX:SharedArchiveFile=" + archive,
+                        "-Dspring.aot.enabled=true")));
+            } else {
+                System.out.println("aot+cds: skipped, run 'mvn -P fast-startup package' first");
+            }
+        }
+    }
+
+    private static void seedUser(HttpClient httpClient, ApplicationProcess app) throws Exception {
+        app.awaitOk(httpClient, "", System.nanoTime());
+        HttpRequest request = HttpRequest.newBuilder(URI.create(app.baseUrl()))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        "{\"name\":\"Startup\",\"email\":\"startup@example.com\",\"age\":30}"))
+                .build();
+        httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+    }
+
+    private static List<Duration> measure(int runs, HttpClient httpClient, PostgreSQLContainer<?> postgres,
+                                          Path jar, List<String> jvmArgs) throws Exception {
+        List<Duration> results = new ArrayList<>();
+        for (int run = 0; run < runs; run++) {
+            long start = System.nanoTime();
+            try (ApplicationProcess app = ApplicationProcess.start(jar, jvmArgs, postgres,
+                    LOGS.resolve("startup-" + jar.getParent().getFileName() + "-" + run + ".log"))) {
+                results.add(app.awaitOk(httpClient, "/1", start));
+            }
+        }
+        return results;
+    }
+
+    private static void report(String mode, List<Duration> results) {
+        List<Long> millis = results.stream()
+                .map(Duration::toMillis)
+                .sorted(Comparator.naturalOrder())
+                .toList();
+        System.out.printf("%s: min %d ms, median %d ms, max %d ms over %d runs%n",
+                mode, millis.get(0), millis.get(millis.size() / 2), millis.get(millis.size() - 1), millis.size());
+    }
+
+    private static Path findJar(Path directory) throws Exception {
+        try (var files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(".jar"))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalStateException("No jar in " + directory
+                            + ", run 'mvn package' first"));
+        }
+    }
+}
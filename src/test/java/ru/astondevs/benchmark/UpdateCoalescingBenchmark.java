@@ -0,0 +1,77 @@
+package ru.astondevs.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.astondevs.dto.UpdateUserRequestDTO;
+import ru.astondevs.dto.UserResponseDTO;
+import ru.astondevs.service.UserUpdateCoalescer;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Contention benchmark for update coalescing: 32 threads keep updating a
+ * small set of hot users, with coalescing off and on. Throughput shows how
+ * many update calls complete per second, sample time shows the latency
+ * each caller pays for waiting out the coalescing window.
+ * <p>
+ * Run with {@code mvn -P benchmark test-compile exec:exec -Dbenchmark.args=UpdateCoalescingBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(32)
+@Fork(1)
+public class UpdateCoalescingBenchmark {
+
+    private static final int USERS = 10_000;
+
+    @Param({"false", "true"})
+    public boolean coalescing;
+
+    @Param({"1", "8"})
+    public int hotUsers;
+
+    @Param({"5ms"})
+    public String window;
+
+    private BenchmarkEnvironment environment;
+    private UserUpdateCoalescer userUpdateCoalescer;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        environment = BenchmarkEnvironment.startQuiet(
+                "user-service.update-coalescing.enabled=" + coalescing,
+                "user-service.update-coalescing.window=" + window,
+                "spring.datasource.hikari.maximum-pool-size=16");
+        environment.seedUsers(USERS);
+        userUpdateCoalescer = environment.getBean(UserUpdateCoalescer.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        environment.close();
+    }
+
+    @Benchmark
+    public UserResponseDTO updateHotUser() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long userId = random.nextLong(1, hotUsers + 1);
+        return userUpdateCoalescer.updateUser(userId,
+                new UpdateUserRequestDTO("user " + random.nextInt(1000), null, random.nextInt(90)));
+    }
+}
@@ -0,0 +1,135 @@
+package ru.astondevs.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import ru.astondevs.converter.UserResponseJsonHttpMessageConverter;
+import ru.astondevs.dto.UserResponseDTO;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the Jackson converter with {@link UserResponseJsonHttpMessageConverter}
+ * for single users and user lists, writing into a discarding stream so only
+ * serialization is measured. Run it with the GC profiler to get bytes
+ * allocated per response ({@code gc.alloc.rate.norm}):
+ * {@code mvn -P benchmark test-compile exec:exec "-Dbenchmark.args=UserJsonWriterBenchmark -prof gc"}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+public class UserJsonWriterBenchmark {
+
+    private static final Type USER_LIST_TYPE = new ParameterizedTypeReference<List<UserResponseDTO>>() {
+    }.getType();
+
+    @Param({"1", "100", "1000"})
+    public int users;
+
+    private final MappingJackson2HttpMessageConverter jacksonConverter = new MappingJackson2HttpMessageConverter(
+            Jackson2ObjectMapperBuilder.json()
+                    .simpleDateFormat("yyyy-MM-dd HH:mm:ss")
+                    .timeZone("UTC")
+                    .build());
+    private final UserResponseJsonHttpMessageConverter userConverter = new UserResponseJsonHttpMessageConverter();
+    private final DiscardingOutputMessage outputMessage = new DiscardingOutputMessage();
+
+    private List<UserResponseDTO> userList;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        userList = new ArrayList<>(users);
+        LocalDateTime now = LocalDateTime.of(2025, 6, 1, 12, 30);
+        for (int i = 1; i <= users; i++) {
+            userList.add(new UserResponseDTO(i, "user " + i, "user" + i + "@domain" + (i % 50) + ".com",
+                    i % 90, now.minusDays(i % 365), now));
+        }
+    }
+
+    @Benchmark
+    public long jacksonList() throws IOException {
+        jacksonConverter.write(userList, USER_LIST_TYPE, MediaType.APPLICATION_JSON, outputMessage.reset());
+        return outputMessage.body.count;
+    }
+
+    @Benchmark
+    public long userConverterList() throws IOException {
+        userConverter.write(userList, USER_LIST_TYPE, MediaType.APPLICATION_JSON, outputMessage.reset());
+        return outputMessage.body.count;
+    }
+
+    @Benchmark
+    public long jacksonSingle() throws IOException {
+        jacksonConverter.write(userList.get(0), UserResponseDTO.class, MediaType.APPLICATION_JSON,
+                outputMessage.reset());
+        return outputMessage.body.count;
+    }
+
+    @Benchmark
+    public long userConverterSingle() throws IOException {
+        userConverter.write(userList.get(0), UserResponseDTO.class, MediaType.APPLICATION_JSON,
+                outputMessage.reset());
+        return outputMessage.body.count;
+    }
+
+    private static final class DiscardingOutputMessage implements HttpOutputMessage {
+
+        private final HttpHeaders headers = new HttpHeaders();
+        private final CountingOutputStream body = new CountingOutputStream();
+
+        DiscardingOutputMessage reset() {
+            headers.clear();
+            body.count = 0;
+            return this;
+        }
+
+        @Override
+        public OutputStream getBody() {
+            return body;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) {
+            count += length;
+        }
+    }
+}
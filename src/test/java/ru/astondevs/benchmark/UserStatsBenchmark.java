@@ -0,0 +1,64 @@
+package ru.astondevs.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.astondevs.dto.UserStatsResponseDTO;
+import ru.astondevs.service.UserStatsService;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the SQL aggregation path with the in-memory columnar snapshot.
+ * The database mode runs with a zero refresh interval so every call hits
+ * the grouping queries; the in-memory mode reuses one snapshot and measures
+ * only the parallel aggregation.
+ * <p>
+ * Run with {@code mvn -P benchmark test-compile exec:exec -Dbenchmark.args=UserStatsBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class UserStatsBenchmark {
+
+    @Param({"database", "in-memory"})
+    public String mode;
+
+    @Param({"100000", "1000000"})
+    public int users;
+
+    private BenchmarkEnvironment environment;
+    private UserStatsService userStatsService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        environment = BenchmarkEnvironment.startQuiet(
+                "user-service.stats.mode=" + mode,
+                "user-service.stats.refresh-interval=" + ("database".equals(mode) ? "0s" : "1h"));
+        environment.seedUsers(users);
+        userStatsService = environment.getBean(UserStatsService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        environment.close();
+    }
+
+    @Benchmark
+    public UserStatsResponseDTO stats() {
+        return userStatsService.getStats(10, 10);
+    }
+}
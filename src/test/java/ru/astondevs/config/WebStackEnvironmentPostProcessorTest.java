@@ -0,0 +1,53 @@
+package ru.astondevs.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.SpringApplication;
+import org.springframework.mock.env.MockEnvironment;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class WebStackEnvironmentPostProcessorTest {
+
+    private final SpringApplication application = new SpringApplication();
+
+    @Test
+    void postProcessEnvironment_ShouldFail_WhenReactiveSelectedWithoutReactiveBuild() {
+        // Given
+        WebStackEnvironmentPostProcessor postProcessor = new WebStackEnvironmentPostProcessor(
+                (className) -> !className.startsWith("org.springframework.web.reactive"));
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("spring.main.web-application-type", "reactive");
+
+        // When & Then
+        assertThatThrownBy(() -> postProcessor.postProcessEnvironment(environment, application))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("org.springframework.web.reactive.DispatcherHandler")
+                .hasMessageContaining("mvn -P reactive package");
+    }
+
+    @Test
+    void postProcessEnvironment_ShouldPass_WhenReactiveSelectedWithReactiveBuild() {
+        // Given
+        WebStackEnvironmentPostProcessor postProcessor = new WebStackEnvironmentPostProcessor(
+                (className) -> true);
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("spring.main.web-application-type", "reactive");
+
+        // When & Then
+        assertThatCode(() -> postProcessor.postProcessEnvironment(environment, application))
+                .doesNotThrowAnyException();
+    }
+
+    @Test
+    void postProcessEnvironment_ShouldIgnoreClasspath_WhenServletSelected() {
+        // Given
+        WebStackEnvironmentPostProcessor postProcessor = new WebStackEnvironmentPostProcessor(
+                (className) -> false);
+        MockEnvironment environment = new MockEnvironment();
+
+        // When & Then
+        assertThatCode(() -> postProcessor.postProcessEnvironment(environment, application))
+                .doesNotThrowAnyException();
+    }
+}
@@ -2,12 +2,14 @@ package ru.astondevs.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
@@ -16,15 +18,30 @@ import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 import ru.astondevs.dto.CreateUserRequestDTO;
 import ru.astondevs.dto.UpdateUserRequestDTO;
+import ru.astondevs.entity.IdempotencyKey;
 import ru.astondevs.entity.User;
+import ru.astondevs.filter.IdempotencyFilter;
+import ru.astondevs.repository.IdempotencyKeyRepository;
 import ru.astondevs.repository.UserRepository;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.hasSize;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -33,6 +50,8 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @Testcontainers
 class UserControllerMockMvcTest {
 
+    private static final int CONCURRENT_REQUESTS = 8;
+
     @Container
     static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16")
             .withDatabaseName("testdb")
@@ -44,8 +63,12 @@ class UserControllerMockMvcTest {
         registry.add("spring.datasource.url", postgres::getJdbcUrl);
         registry.add("spring.datasource.username", postgres::getUsername);
         registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("user-service.stats.refresh-interval", () -> "0s");
+        registry.add("user-service.idempotency.wait-timeout", () -> "2s");
     }
 
+    private final ExecutorService executor = Executors.newFixedThreadPool(CONCURRENT_REQUESTS);
+
     @Autowired
     private MockMvc mockMvc;
 
@@ -55,9 +78,18 @@ class UserControllerMockMvcTest {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+
     @BeforeEach
     void setUp() {
         userRepository.deleteAll();
+        idempotencyKeyRepository.deleteAll();
+    }
+
+    @AfterEach
+    void shutdownExecutor() {
+        executor.shutdownNow();
     }
 
     @AfterAll
@@ -134,6 +166,242 @@ class UserControllerMockMvcTest {
                         .value(errorMessage));
     }
 
+    @Test
+    void createUser_ShouldReplayStoredResponse_WhenIdempotencyKeyRepeated() throws Exception {
+        // Given
+        CreateUserRequestDTO createUserRequestDTO = new CreateUserRequestDTO(
+                "John Doe", "john@example.com", 30);
+        String content = objectMapper.writeValueAsString(createUserRequestDTO);
+
+        String firstResponse = mockMvc.perform(post("/api/v1/users")
+                        .header(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, "create-john")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(content))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+
+        // When & Then
+        String replayedResponse = mockMvc.perform(post("/api/v1/users")
+                        .header(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, "create-john")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(content))
+                .andExpect(status().isCreated())
+                .andExpect(header().string(IdempotencyFilter.IDEMPOTENT_REPLAYED_HEADER, "true"))
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(replayedResponse).isEqualTo(firstResponse);
+        assertThat(userRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void createUser_ShouldReturnConflict_WhenIdempotencyKeyReusedWithDifferentBody() throws Exception {
+        // Given
+        mockMvc.perform(post("/api/v1/users")
+                        .header(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, "create-user")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new CreateUserRequestDTO("John Doe", "john@example.com", 30))))
+                .andExpect(status().isCreated());
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/users")
+                        .header(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, "create-user")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new CreateUserRequestDTO("Jane Doe", "jane@example.com", 25))))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message")
+                        .value("Idempotency-Key create-user was already used with a different request"));
+
+        assertThat(userRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void createUser_ShouldTakeOverKey_WhenClaimLeaseExpired() throws Exception {
+        // Given
+        String content = objectMapper.writeValueAsString(
+                new CreateUserRequestDTO("John Doe", "john@example.com", 30));
+        mockMvc.perform(post("/api/v1/users")
+                        .header(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, "create-john")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(content))
+                .andExpect(status().isCreated());
+
+        IdempotencyKey staleClaim = idempotencyKeyRepository.findById("create-john").orElseThrow();
+        staleClaim.setStatusCode(null);
+        staleClaim.setContentType(null);
+        staleClaim.setResponseBody(null);
+        staleClaim.setLockedUntil(LocalDateTime.now().minusMinutes(1));
+        idempotencyKeyRepository.save(staleClaim);
+        userRepository.deleteAll();
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/users")
+                        .header(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, "create-john")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(content))
+                .andExpect(status().isCreated())
+                .andExpect(header().doesNotExist(IdempotencyFilter.IDEMPOTENT_REPLAYED_HEADER));
+
+        assertThat(userRepository.count()).isEqualTo(1);
+        assertThat(idempotencyKeyRepository.findById("create-john"))
+                .hasValueSatisfying(key -> assertThat(key.isCompleted()).isTrue());
+    }
+
+    @Test
+    void createUser_ShouldExecuteOnce_WhenSameIdempotencyKeySentConcurrently() throws Exception {
+        // Given
+        String content = objectMapper.writeValueAsString(
+                new CreateUserRequestDTO("John Doe", "john@example.com", 30));
+        CountDownLatch start = new CountDownLatch(1);
+        List<Callable<MockHttpServletResponse>> requests = new ArrayList<>();
+        for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+            requests.add(() -> {
+                start.await();
+                return mockMvc.perform(post("/api/v1/users")
+                                .header(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, "create-john")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(content))
+                        .andReturn().getResponse();
+            });
+        }
+
+        // When
+        List<Future<MockHttpServletResponse>> futures = new ArrayList<>();
+        for (Callable<MockHttpServletResponse> request : requests) {
+            futures.add(executor.submit(request));
+        }
+        start.countDown();
+        List<MockHttpServletResponse> responses = new ArrayList<>();
+        for (Future<MockHttpServletResponse> future : futures) {
+            responses.add(future.get(10, TimeUnit.SECONDS));
+        }
+
+        // Then
+        assertThat(userRepository.count()).isEqualTo(1);
+        assertThat(responses).allSatisfy(response -> assertThat(response.getStatus()).isEqualTo(201));
+        assertThat(responses)
+                .filteredOn(response -> response.getHeader(IdempotencyFilter.IDEMPOTENT_REPLAYED_HEADER) != null)
+                .hasSize(CONCURRENT_REQUESTS - 1);
+        assertThat(responses)
+                .extracting(MockHttpServletResponse::getContentAsString)
+                .containsOnly(responses.get(0).getContentAsString());
+    }
+
+    @Test
+    void createUser_ShouldWaitForOtherInstance_WhenKeyInProgressThere() throws Exception {
+        // Given
+        String content = objectMapper.writeValueAsString(
+                new CreateUserRequestDTO("John Doe", "john@example.com", 30));
+        String firstResponse = mockMvc.perform(post("/api/v1/users")
+                        .header(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, "create-john")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(content))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+
+        IdempotencyKey completed = idempotencyKeyRepository.findById("create-john").orElseThrow();
+        Integer statusCode = completed.getStatusCode();
+        String contentType = completed.getContentType();
+        byte[] responseBody = completed.getResponseBody();
+        markInProgressElsewhere(completed);
+        executor.submit(() -> {
+            TimeUnit.MILLISECONDS.sleep(300);
+            completed.setStatusCode(statusCode);
+            completed.setContentType(contentType);
+            completed.setResponseBody(responseBody);
+            return idempotencyKeyRepository.save(completed);
+        });
+
+        // When & Then
+        String replayedResponse = mockMvc.perform(post("/api/v1/users")
+                        .header(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, "create-john")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(content))
+                .andExpect(status().isCreated())
+                .andExpect(header().string(IdempotencyFilter.IDEMPOTENT_REPLAYED_HEADER, "true"))
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(replayedResponse).isEqualTo(firstResponse);
+        assertThat(userRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void createUser_ShouldReturnConflict_WhenKeyStillInProgressAfterWaitTimeout() throws Exception {
+        // Given
+        String content = objectMapper.writeValueAsString(
+                new CreateUserRequestDTO("John Doe", "john@example.com", 30));
+        mockMvc.perform(post("/api/v1/users")
+                        .header(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, "create-john")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(content))
+                .andExpect(status().isCreated());
+        markInProgressElsewhere(idempotencyKeyRepository.findById("create-john").orElseThrow());
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/users")
+                        .header(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, "create-john")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(content))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message")
+                        .value("Request with Idempotency-Key create-john is still being processed"));
+
+        assertThat(userRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void updateUser_ShouldReplayStoredResponse_WhenIdempotencyKeyRepeated() throws Exception {
+        // Given
+        User user = new User();
+        user.setName("Original Name");
+        user.setEmail("original@example.com");
+        user.setAge(25);
+        User savedUser = userRepository.save(user);
+        String content = objectMapper.writeValueAsString(
+                new UpdateUserRequestDTO("Updated Name", null, null));
+
+        String firstResponse = mockMvc.perform(put("/api/v1/users/{id}", savedUser.getId())
+                        .header(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, "rename-user")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(content))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        User changedMeanwhile = userRepository.findById(savedUser.getId()).orElseThrow();
+        changedMeanwhile.setName("Changed Meanwhile");
+        userRepository.save(changedMeanwhile);
+
+        // When & Then
+        String replayedResponse = mockMvc.perform(put("/api/v1/users/{id}", savedUser.getId())
+                        .header(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, "rename-user")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(content))
+                .andExpect(status().isOk())
+                .andExpect(header().string(IdempotencyFilter.IDEMPOTENT_REPLAYED_HEADER, "true"))
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(replayedResponse).isEqualTo(firstResponse);
+        assertThat(userRepository.findById(savedUser.getId()).orElseThrow().getName())
+                .isEqualTo("Changed Meanwhile");
+    }
+
+    @Test
+    void createUser_ShouldReturnBadRequest_WhenIdempotencyKeyBlank() throws Exception {
+        // Given
+        CreateUserRequestDTO createUserRequestDTO = new CreateUserRequestDTO(
+                "John Doe", "john@example.com", 30);
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/users")
+                        .header(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, " ")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(createUserRequestDTO)))
+                .andExpect(status().isBadRequest());
+
+        assertThat(userRepository.count()).isZero();
+    }
+
     @Test
     void getAllUsers_ShouldReturnAllUsers() throws Exception {
         // Given
@@ -238,6 +506,51 @@ class UserControllerMockMvcTest {
                 .andExpect(jsonPath("$.age").value(user.getAge()));
     }
 
+    @Test
+    void getUserStats_ShouldReturnAggregatedStats() throws Exception {
+        // Given
+        User user1 = new User();
+        user1.setName("User 1");
+        user1.setEmail("user1@example.com");
+        user1.setAge(20);
+
+        User user2 = new User();
+        user2.setName("User 2");
+        user2.setEmail("user2@example.com");
+        user2.setAge(25);
+
+        User user3 = new User();
+        user3.setName("User 3");
+        user3.setEmail("user3@test.org");
+        user3.setAge(31);
+
+        userRepository.saveAll(java.util.List.of(user1, user2, user3));
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/users/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalUsers").value(3))
+                .andExpect(jsonPath("$.ageHistogram", hasSize(2)))
+                .andExpect(jsonPath("$.ageHistogram[0].fromAge").value(20))
+                .andExpect(jsonPath("$.ageHistogram[0].toAge").value(29))
+                .andExpect(jsonPath("$.ageHistogram[0].count").value(2))
+                .andExpect(jsonPath("$.ageHistogram[1].fromAge").value(30))
+                .andExpect(jsonPath("$.ageHistogram[1].count").value(1))
+                .andExpect(jsonPath("$.signupsPerDay[0].count").value(3))
+                .andExpect(jsonPath("$.topEmailDomains[0].domain").value("example.com"))
+                .andExpect(jsonPath("$.topEmailDomains[0].count").value(2))
+                .andExpect(jsonPath("$.topEmailDomains[1].domain").value("test.org"));
+    }
+
+    @Test
+    void getUserStats_ShouldReturnBadRequest_WhenBucketWidthInvalid() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/v1/users/stats").param("ageBucketWidth", "0"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.ageBucketWidth")
+                        .value("Age bucket width must be at least 1"));
+    }
+
     @Test
     void deleteUser_ShouldDeleteUser_WhenExists() throws Exception {
         // Given
@@ -267,4 +580,13 @@ class UserControllerMockMvcTest {
                 .andExpect(status().isNotFound())
                 .andExpect(jsonPath("$.message").value(errorMessage));
     }
+
+    private void markInProgressElsewhere(IdempotencyKey key) {
+        key.setStatusCode(null);
+        key.setContentType(null);
+        key.setResponseBody(null);
+        key.setOwner(UUID.randomUUID());
+        key.setLockedUntil(LocalDateTime.now().plusMinutes(1));
+        idempotencyKeyRepository.save(key);
+    }
 }
@@ -0,0 +1,121 @@
+package ru.astondevs.controller;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import ru.astondevs.UserServiceApplication;
+import ru.astondevs.entity.User;
+import ru.astondevs.repository.UserRepository;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Renders the same users through the full MVC stack once with the
+ * hand-written JSON writer and once with the default Jackson converter,
+ * and checks that clients receive identical bytes.
+ */
+@Testcontainers
+class UserJsonWriterParityTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    private static ConfigurableApplicationContext writerContext;
+    private static ConfigurableApplicationContext jacksonContext;
+    private static MockMvc writerMockMvc;
+    private static MockMvc jacksonMockMvc;
+    private static Iterable<User> users;
+
+    @BeforeAll
+    static void setUp() {
+        writerContext = start(true);
+        jacksonContext = start(false);
+        writerMockMvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) writerContext).build();
+        jacksonMockMvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) jacksonContext).build();
+
+        UserRepository userRepository = writerContext.getBean(UserRepository.class);
+        userRepository.deleteAll();
+        users = userRepository.saveAll(List.of(
+                newUser("John Doe", "john@example.com", 30),
+                newUser("Иван \"Ваня\" Петров\\\t", "ivan@example.com", 0),
+                newUser("Emoji 😀 </script> ", "emoji@example.com", 120)));
+    }
+
+    @AfterAll
+    static void tearDown() {
+        if (writerContext != null) {
+            writerContext.close();
+        }
+        if (jacksonContext != null) {
+            jacksonContext.close();
+        }
+    }
+
+    @Test
+    void getAllUsers_ShouldRenderSameBody_WithAndWithoutJsonWriter() throws Exception {
+        // When
+        MvcResult withWriter = perform(writerMockMvc, "/api/v1/users");
+        MvcResult withJackson = perform(jacksonMockMvc, "/api/v1/users");
+
+        // Then
+        assertSameResponse(withWriter, withJackson);
+    }
+
+    @Test
+    void getUserById_ShouldRenderSameBody_WithAndWithoutJsonWriter() throws Exception {
+        for (User user : users) {
+            // When
+            MvcResult withWriter = perform(writerMockMvc, "/api/v1/users/" + user.getId());
+            MvcResult withJackson = perform(jacksonMockMvc, "/api/v1/users/" + user.getId());
+
+            // Then
+            assertSameResponse(withWriter, withJackson);
+        }
+    }
+
+    private static ConfigurableApplicationContext start(boolean jsonWriterEnabled) {
+        return new SpringApplicationBuilder(UserServiceApplication.class).run(
+                "--server.port=0",
+                "--spring.datasource.url=" + postgres.getJdbcUrl(),
+                "--spring.datasource.username=" + postgres.getUsername(),
+                "--spring.datasource.password=" + postgres.getPassword(),
+                "--user-service.json-writer.enabled=" + jsonWriterEnabled);
+    }
+
+    private static MvcResult perform(MockMvc mockMvc, String path) throws Exception {
+        return mockMvc.perform(get(path))
+                .andExpect(status().isOk())
+                .andReturn();
+    }
+
+    private static void assertSameResponse(MvcResult withWriter, MvcResult withJackson) {
+        assertThat(withWriter.getResponse().getContentType())
+                .isEqualTo(withJackson.getResponse().getContentType());
+        assertThat(withWriter.getResponse().getContentAsByteArray())
+                .isEqualTo(withJackson.getResponse().getContentAsByteArray());
+    }
+
+    private static User newUser(String name, String email, int age) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(email);
+        user.setAge(age);
+        return user;
+    }
+}
@@ -0,0 +1,116 @@
+package ru.astondevs.converter;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.GenericHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.mock.http.MockHttpOutputMessage;
+import ru.astondevs.dto.UserResponseDTO;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserResponseJsonHttpMessageConverterTest {
+
+    private static final Type USER_LIST_TYPE = new ParameterizedTypeReference<List<UserResponseDTO>>() {
+    }.getType();
+
+    private final UserResponseJsonHttpMessageConverter converter = new UserResponseJsonHttpMessageConverter();
+
+    private final MappingJackson2HttpMessageConverter jacksonConverter = new MappingJackson2HttpMessageConverter(
+            Jackson2ObjectMapperBuilder.json()
+                    .simpleDateFormat("yyyy-MM-dd HH:mm:ss")
+                    .timeZone("UTC")
+                    .build());
+
+    @Test
+    void write_ShouldMatchJackson_ForSingleUser() throws IOException {
+        // Given
+        UserResponseDTO user = new UserResponseDTO(1L, "John Doe", "john@example.com", 30,
+                LocalDateTime.of(2024, 1, 2, 3, 4, 5), LocalDateTime.of(2024, 12, 31, 23, 59, 59, 999_999_999));
+
+        // When & Then
+        assertThat(write(converter, user, UserResponseDTO.class))
+                .isEqualTo(write(jacksonConverter, user, UserResponseDTO.class));
+    }
+
+    @Test
+    void write_ShouldMatchJackson_ForStringsThatNeedEscaping() throws IOException {
+        // Given
+        StringBuilder controls = new StringBuilder();
+        for (char c = 0; c < 0x20; c++) {
+            controls.append(c);
+        }
+        UserResponseDTO user = new UserResponseDTO(Long.MAX_VALUE,
+                "\"quoted\" \\ back/slash " + controls + "\u007F",
+                "Иван Петров 日本 😀 é",
+                0, LocalDateTime.of(1, 1, 1, 0, 0), LocalDateTime.of(9999, 12, 31, 23, 59, 59));
+
+        // When & Then
+        assertThat(write(converter, user, UserResponseDTO.class))
+                .isEqualTo(write(jacksonConverter, user, UserResponseDTO.class));
+    }
+
+    @Test
+    void write_ShouldMatchJackson_ForNullsAndDatesOutsideFourDigitYears() throws IOException {
+        // Given
+        List<UserResponseDTO> users = List.of(
+                new UserResponseDTO(-5L, null, null, -1, null, null),
+                new UserResponseDTO(2L, "", "", Integer.MAX_VALUE,
+                        LocalDateTime.of(0, 6, 15, 12, 0), LocalDateTime.of(12345, 1, 1, 0, 0)));
+
+        // When & Then
+        assertThat(write(converter, users, USER_LIST_TYPE))
+                .isEqualTo(write(jacksonConverter, users, USER_LIST_TYPE));
+    }
+
+    @Test
+    void write_ShouldMatchJackson_ForListsLargerThanBuffer() throws IOException {
+        // Given
+        List<UserResponseDTO> users = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            users.add(new UserResponseDTO(i, "user " + i, "user" + i + "@domain" + (i % 50) + ".com", i % 90,
+                    LocalDateTime.of(2024, 1, 1, 0, 0).plusMinutes(i * 97L),
+                    LocalDateTime.of(2025, 6, 1, 12, 30).plusSeconds(i * 7L)));
+        }
+
+        // When & Then
+        assertThat(write(converter, users, USER_LIST_TYPE))
+                .isEqualTo(write(jacksonConverter, users, USER_LIST_TYPE));
+        assertThat(write(converter, List.of(), USER_LIST_TYPE))
+                .isEqualTo(write(jacksonConverter, List.of(), USER_LIST_TYPE));
+    }
+
+    @Test
+    void canWrite_ShouldOnlyAcceptUserResponses() {
+        // Given
+        Type mapType = new ParameterizedTypeReference<Map<String, String>>() {
+        }.getType();
+        Type stringListType = new ParameterizedTypeReference<List<String>>() {
+        }.getType();
+
+        // When & Then
+        assertThat(converter.canWrite(UserResponseDTO.class, UserResponseDTO.class, MediaType.APPLICATION_JSON))
+                .isTrue();
+        assertThat(converter.canWrite(USER_LIST_TYPE, List.class, MediaType.APPLICATION_JSON)).isTrue();
+        assertThat(converter.canWrite(USER_LIST_TYPE, List.class, MediaType.APPLICATION_XML)).isFalse();
+        assertThat(converter.canWrite(stringListType, List.class, MediaType.APPLICATION_JSON)).isFalse();
+        assertThat(converter.canWrite(mapType, Map.class, MediaType.APPLICATION_JSON)).isFalse();
+        assertThat(converter.canRead(UserResponseDTO.class, null, MediaType.APPLICATION_JSON)).isFalse();
+    }
+
+    private static byte[] write(GenericHttpMessageConverter<Object> converter, Object value, Type type)
+            throws IOException {
+        MockHttpOutputMessage outputMessage = new MockHttpOutputMessage();
+        converter.write(value, type, MediaType.APPLICATION_JSON, outputMessage);
+        return outputMessage.getBodyAsBytes();
+    }
+}
@@ -0,0 +1,120 @@
+package ru.astondevs.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import ru.astondevs.entity.User;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("partitioned")
+@Testcontainers
+class PartitionedUserRepositoryTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void save_ShouldRegisterEmailInLookupTable() {
+        // Given
+        User user = userRepository.save(newUser("john@example.com"));
+
+        // When & Then
+        assertThat(userRepository.existsByEmail("john@example.com")).isTrue();
+        assertThat(userRepository.existsByEmailAndIdNot("john@example.com", user.getId())).isFalse();
+        assertThat(userRepository.findById(user.getId())).isPresent();
+    }
+
+    @Test
+    void save_ShouldRejectDuplicateEmail_AcrossPartitions() {
+        // Given
+        userRepository.save(newUser("taken@example.com"));
+
+        // When & Then
+        assertThatThrownBy(() -> userRepository.save(newUser("taken@example.com")))
+                .isInstanceOf(DataIntegrityViolationException.class);
+        assertThat(userRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void save_ShouldMoveLookupEntry_WhenEmailChanges() {
+        // Given
+        User user = userRepository.save(newUser("old@example.com"));
+
+        // When
+        user.setEmail("new@example.com");
+        userRepository.save(user);
+
+        // Then
+        assertThat(userRepository.existsByEmail("old@example.com")).isFalse();
+        assertThat(userRepository.existsByEmail("new@example.com")).isTrue();
+    }
+
+    @Test
+    void delete_ShouldRemoveLookupEntry() {
+        // Given
+        User user = userRepository.save(newUser("gone@example.com"));
+
+        // When
+        userRepository.deleteById(user.getId());
+
+        // Then
+        assertThat(userRepository.existsByEmail("gone@example.com")).isFalse();
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM user_emails", Long.class)).isZero();
+    }
+
+    @Test
+    void findById_ShouldScanSinglePartition() {
+        // Given
+        User user = userRepository.save(newUser("plan@example.com"));
+
+        // When
+        List<String> plan = jdbcTemplate.queryForList(
+                "EXPLAIN SELECT * FROM users WHERE id = " + user.getId(), String.class);
+
+        // Then
+        assertThat(plan).filteredOn(line -> line.contains("users_p")).hasSize(1);
+    }
+
+    private static User newUser(String email) {
+        User user = new User();
+        user.setName("User");
+        user.setEmail(email);
+        user.setAge(30);
+        return user;
+    }
+}
@@ -0,0 +1,101 @@
+package ru.astondevs.service;
+
+import org.junit.jupiter.api.Test;
+import ru.astondevs.dto.UserStatsResponseDTO;
+import ru.astondevs.dto.UserStatsResponseDTO.AgeBucket;
+import ru.astondevs.dto.UserStatsResponseDTO.DailySignups;
+import ru.astondevs.dto.UserStatsResponseDTO.EmailDomain;
+import ru.astondevs.repository.projection.AgeCount;
+import ru.astondevs.repository.projection.DailySignupCount;
+import ru.astondevs.repository.projection.EmailDomainCount;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserStatsAggregatesTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 5, 10, 12, 0);
+
+    private final UserStatsAggregates aggregates = UserStatsAggregates.of(6,
+            List.of(age(20, 1), age(25, 1), age(29, 2), age(31, 1)),
+            List.of(day(LocalDate.of(2024, 5, 8), 2), day(LocalDate.of(2024, 5, 10), 4)),
+            List.of(domain("example.com", 3), domain("test.org", 2), domain("other.net", 1)),
+            NOW);
+
+    @Test
+    void compute_ShouldBucketAgesAndLimitDomains() {
+        // When
+        UserStatsResponseDTO stats = aggregates.compute(10, 2);
+
+        // Then
+        assertThat(stats.totalUsers()).isEqualTo(6);
+        assertThat(stats.ageHistogram()).containsExactly(
+                new AgeBucket(20, 29, 4),
+                new AgeBucket(30, 39, 1));
+        assertThat(stats.signupsPerDay()).containsExactly(
+                new DailySignups(LocalDate.of(2024, 5, 8), 2),
+                new DailySignups(LocalDate.of(2024, 5, 10), 4));
+        assertThat(stats.topEmailDomains()).containsExactly(
+                new EmailDomain("example.com", 3),
+                new EmailDomain("test.org", 2));
+        assertThat(stats.generatedAt()).isEqualTo(NOW);
+    }
+
+    @Test
+    void compute_ShouldReuseSameAggregates_ForDifferentParameters() {
+        // When
+        UserStatsResponseDTO stats = aggregates.compute(5, 10);
+
+        // Then
+        assertThat(stats.ageHistogram()).containsExactly(
+                new AgeBucket(20, 24, 1),
+                new AgeBucket(25, 29, 3),
+                new AgeBucket(30, 34, 1));
+        assertThat(stats.topEmailDomains()).hasSize(3);
+    }
+
+    private static AgeCount age(int age, long total) {
+        return new AgeCount() {
+            @Override
+            public Integer getAge() {
+                return age;
+            }
+
+            @Override
+            public Long getTotal() {
+                return total;
+            }
+        };
+    }
+
+    private static DailySignupCount day(LocalDate day, long total) {
+        return new DailySignupCount() {
+            @Override
+            public LocalDate getDay() {
+                return day;
+            }
+
+            @Override
+            public Long getTotal() {
+                return total;
+            }
+        };
+    }
+
+    private static EmailDomainCount domain(String domain, long total) {
+        return new EmailDomainCount() {
+            @Override
+            public String getDomain() {
+                return domain;
+            }
+
+            @Override
+            public Long getTotal() {
+                return total;
+            }
+        };
+    }
+}
@@ -0,0 +1,102 @@
+package ru.astondevs.service;
+
+import org.junit.jupiter.api.Test;
+import ru.astondevs.dto.UserStatsResponseDTO;
+import ru.astondevs.dto.UserStatsResponseDTO.AgeBucket;
+import ru.astondevs.dto.UserStatsResponseDTO.DailySignups;
+import ru.astondevs.dto.UserStatsResponseDTO.EmailDomain;
+import ru.astondevs.repository.projection.UserStatsRow;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserStatsSnapshotTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 5, 10, 12, 0);
+
+    @Test
+    void compute_ShouldAggregateAllColumns() {
+        // Given
+        UserStatsSnapshot snapshot = UserStatsSnapshot.load(Stream.of(
+                row(20, "a@Example.com", NOW),
+                row(25, "b@example.com", NOW),
+                row(31, "c@test.org", NOW.minusDays(2)),
+                row(null, "d@test.org", NOW.minusDays(2)),
+                row(45, "e@other.net", NOW)
+        ), 0, NOW);
+
+        // When
+        UserStatsResponseDTO stats = snapshot.compute(10, 2);
+
+        // Then
+        assertThat(stats.totalUsers()).isEqualTo(5);
+        assertThat(stats.ageHistogram()).containsExactly(
+                new AgeBucket(20, 29, 2),
+                new AgeBucket(30, 39, 1),
+                new AgeBucket(40, 49, 1));
+        assertThat(stats.signupsPerDay()).containsExactly(
+                new DailySignups(LocalDate.of(2024, 5, 8), 2),
+                new DailySignups(LocalDate.of(2024, 5, 10), 3));
+        assertThat(stats.topEmailDomains()).containsExactly(
+                new EmailDomain("example.com", 2),
+                new EmailDomain("test.org", 2));
+        assertThat(stats.generatedAt()).isEqualTo(NOW);
+    }
+
+    @Test
+    void compute_ShouldMatchSequentialCounts_WhenSpanningSeveralChunks() {
+        // Given
+        int size = 200_000;
+        UserStatsSnapshot snapshot = UserStatsSnapshot.load(IntStream.range(0, size)
+                .mapToObj(i -> row(i % 100, "user" + i + "@domain" + (i % 7) + ".com",
+                        NOW.minusDays(i % 30))), 16, NOW);
+
+        // When
+        UserStatsResponseDTO stats = snapshot.compute(25, 10);
+
+        // Then
+        assertThat(stats.totalUsers()).isEqualTo(size);
+        assertThat(stats.ageHistogram()).hasSize(4)
+                .allSatisfy(bucket -> assertThat(bucket.count()).isEqualTo(size / 4));
+        assertThat(stats.signupsPerDay()).hasSize(30);
+        assertThat(stats.signupsPerDay().stream().mapToLong(DailySignups::count).sum())
+                .isEqualTo(size);
+        assertThat(stats.topEmailDomains()).hasSize(7);
+        assertThat(stats.topEmailDomains().get(0)).isEqualTo(new EmailDomain("domain0.com", 28_572));
+    }
+
+    @Test
+    void compute_ShouldReturnEmptyStats_WhenNoUsers() {
+        // When
+        UserStatsResponseDTO stats = UserStatsSnapshot.load(Stream.empty(), 0, NOW).compute(10, 10);
+
+        // Then
+        assertThat(stats.totalUsers()).isZero();
+        assertThat(stats.ageHistogram()).isEmpty();
+        assertThat(stats.signupsPerDay()).isEmpty();
+        assertThat(stats.topEmailDomains()).isEmpty();
+    }
+
+    private static UserStatsRow row(Integer age, String email, LocalDateTime createdAt) {
+        return new UserStatsRow() {
+            @Override
+            public Integer getAge() {
+                return age;
+            }
+
+            @Override
+            public String getEmail() {
+                return email;
+            }
+
+            @Override
+            public LocalDateTime getCreatedAt() {
+                return createdAt;
+            }
+        };
+    }
+}
@@ -0,0 +1,158 @@
+package ru.astondevs.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.astondevs.config.UpdateCoalescingProperties;
+import ru.astondevs.dto.UpdateUserRequestDTO;
+import ru.astondevs.dto.UserResponseDTO;
+import ru.astondevs.exception.UserAlreadyExistsException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserUpdateCoalescerTest {
+
+    private static final Duration WINDOW = Duration.ofMillis(500);
+
+    @Mock
+    private UserService userService;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(3);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void updateUser_ShouldDelegateDirectly_WhenCoalescingDisabled() {
+        // Given
+        UserUpdateCoalescer coalescer = new UserUpdateCoalescer(
+                userService, new UpdateCoalescingProperties(false, WINDOW));
+        UpdateUserRequestDTO request = new UpdateUserRequestDTO("John Doe", null, null);
+        UserResponseDTO expected = response("John Doe", "john@example.com", 30);
+        when(userService.updateUser(1L, request)).thenReturn(expected);
+
+        // When
+        UserResponseDTO result = coalescer.updateUser(1L, request);
+
+        // Then
+        assertThat(result).isEqualTo(expected);
+        verify(userService).updateUser(1L, request);
+    }
+
+    @Test
+    void updateUser_ShouldMergeConcurrentUpdates_IntoSingleCall() throws Exception {
+        // Given
+        UserUpdateCoalescer coalescer = new UserUpdateCoalescer(
+                userService, new UpdateCoalescingProperties(true, WINDOW));
+        UpdateUserRequestDTO merged = new UpdateUserRequestDTO("John Doe", "john@example.com", 30);
+        UserResponseDTO expected = response("John Doe", "john@example.com", 30);
+        when(userService.updateUser(1L, merged)).thenReturn(expected);
+
+        // When
+        List<Future<UserResponseDTO>> results = executor.invokeAll(List.of(
+                update(coalescer, new UpdateUserRequestDTO("John Doe", null, null)),
+                update(coalescer, new UpdateUserRequestDTO(null, "john@example.com", null)),
+                update(coalescer, new UpdateUserRequestDTO(null, null, 30))));
+
+        // Then
+        for (Future<UserResponseDTO> result : results) {
+            assertThat(result.get()).isEqualTo(expected);
+        }
+        verify(userService, times(1)).updateUser(eq(1L), any(UpdateUserRequestDTO.class));
+    }
+
+    @Test
+    void updateUser_ShouldApplyUpdatesSeparately_WhenMergedUpdateConflicts() throws Exception {
+        // Given
+        UserUpdateCoalescer coalescer = new UserUpdateCoalescer(
+                userService, new UpdateCoalescingProperties(true, WINDOW));
+        UserAlreadyExistsException conflict =
+                new UserAlreadyExistsException("User with email taken@example.com already exists");
+        UpdateUserRequestDTO rename = new UpdateUserRequestDTO("John Doe", null, null);
+        UpdateUserRequestDTO changeEmail = new UpdateUserRequestDTO(null, "taken@example.com", null);
+        UserResponseDTO renamed = response("John Doe", "john@example.com", 30);
+        when(userService.updateUser(1L, new UpdateUserRequestDTO("John Doe", "taken@example.com", null)))
+                .thenThrow(conflict);
+        when(userService.updateUser(1L, changeEmail)).thenThrow(conflict);
+        when(userService.updateUser(1L, rename)).thenReturn(renamed);
+
+        // When
+        List<Future<UserResponseDTO>> results = executor.invokeAll(List.of(
+                update(coalescer, rename),
+                update(coalescer, changeEmail)));
+
+        // Then
+        assertThat(results.get(0).get()).isEqualTo(renamed);
+        assertThatThrownBy(() -> results.get(1).get())
+                .isInstanceOf(ExecutionException.class)
+                .hasCause(conflict);
+    }
+
+    @Test
+    void updateUser_ShouldNotFlushNextBatch_UntilPreviousFlushFinished() throws Exception {
+        // Given
+        UserUpdateCoalescer coalescer = new UserUpdateCoalescer(
+                userService, new UpdateCoalescingProperties(true, WINDOW));
+        UpdateUserRequestDTO older = new UpdateUserRequestDTO(null, null, 30);
+        UpdateUserRequestDTO newer = new UpdateUserRequestDTO(null, null, 31);
+        UserResponseDTO olderResult = response("John Doe", "john@example.com", 30);
+        UserResponseDTO newerResult = response("John Doe", "john@example.com", 31);
+        CountDownLatch firstFlushStarted = new CountDownLatch(1);
+        CountDownLatch firstFlushReleased = new CountDownLatch(1);
+        when(userService.updateUser(1L, older)).thenAnswer((invocation) -> {
+            firstFlushStarted.countDown();
+            firstFlushReleased.await();
+            return olderResult;
+        });
+        when(userService.updateUser(1L, newer)).thenReturn(newerResult);
+
+        // When
+        Future<UserResponseDTO> first = executor.submit(update(coalescer, older));
+        assertThat(firstFlushStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        Future<UserResponseDTO> second = executor.submit(update(coalescer, newer));
+
+        // Then
+        verify(userService, after(WINDOW.toMillis() * 2).never()).updateUser(1L, newer);
+        firstFlushReleased.countDown();
+        assertThat(first.get()).isEqualTo(olderResult);
+        assertThat(second.get()).isEqualTo(newerResult);
+        InOrder inOrder = inOrder(userService);
+        inOrder.verify(userService).updateUser(1L, older);
+        inOrder.verify(userService).updateUser(1L, newer);
+    }
+
+    private static Callable<UserResponseDTO> update(UserUpdateCoalescer coalescer,
+                                                    UpdateUserRequestDTO request) {
+        return () -> coalescer.updateUser(1L, request);
+    }
+
+    private static UserResponseDTO response(String name, String email, int age) {
+        LocalDateTime now = LocalDateTime.now();
+        return new UserResponseDTO(1L, name, email, age, now, now);
+    }
+}